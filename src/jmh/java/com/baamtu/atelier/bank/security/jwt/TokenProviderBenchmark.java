@@ -0,0 +1,98 @@
+package com.baamtu.atelier.bank.security.jwt;
+
+import com.baamtu.atelier.bank.security.AuthoritiesConstants;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Per-request cost of authenticating a JWT, as done by {@link JWTFilter}.
+ * <p>
+ * {@code createToken} is the cost of issuing a token at login. {@code reparse} is the former path, parsing and verifying the token twice then splitting its authorities on every
+ * request; {@code verifiedTokenCache} is {@link TokenProvider#authenticate(String)}. Requests are spread over
+ * {@code activeUsers} tokens, from several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    @Param({ "1", "1000" })
+    private int activeUsers;
+
+    private TokenProvider tokenProvider;
+
+    private JwtParser jwtParser;
+
+    private String[] tokens;
+
+    private Authentication authentication;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        jwtParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BASE64_SECRET))).build();
+
+        List<GrantedAuthority> authorities = List.of(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+            new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)
+        );
+        authentication = new UsernamePasswordAuthenticationToken("user", "", authorities);
+        tokens = new String[activeUsers];
+        for (int i = 0; i < activeUsers; i++) {
+            tokens[i] = tokenProvider.createToken(new UsernamePasswordAuthenticationToken("user-" + i, "", authorities), false);
+        }
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Authentication reparse() {
+        String token = nextToken();
+        jwtParser.parseClaimsJws(token);
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        Collection<? extends GrantedAuthority> authorities = Arrays
+            .stream(claims.get("auth").toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+        User principal = new User(claims.getSubject(), "", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+
+    @Benchmark
+    public Authentication verifiedTokenCache() {
+        return tokenProvider.authenticate(nextToken()).orElseThrow();
+    }
+
+    private String nextToken() {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+}
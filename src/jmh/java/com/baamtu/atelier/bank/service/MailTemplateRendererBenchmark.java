@@ -0,0 +1,93 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.service.MailTemplateRenderer.RenderedEmail;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Cost of rendering the activation email of a campaign, in English and French.
+ * <p>
+ * {@code perRecipient} renders each email the way {@link MailService} used to: a new context and a subject lookup per
+ * recipient. The template engine caches parsed templates, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    @Param({ "100", "10000" })
+    private int recipients;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer renderer;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        messageSource.setFallbackToSystemLocale(false);
+
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateResolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        renderer = new MailTemplateRenderer(messageSource, templateEngine, BASE_URL);
+
+        users = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            User user = new User();
+            user.setLogin("user-" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setLangKey(i % 2 == 0 ? "en" : "fr");
+            user.setActivationKey("activation-key-" + i);
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<String> perRecipient() {
+        List<String> contents = new ArrayList<>(users.size());
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable(MailTemplateRenderer.USER, user);
+            context.setVariable(MailTemplateRenderer.BASE_URL, BASE_URL);
+            String content = templateEngine.process(MailService.ACTIVATION_TEMPLATE, context);
+            String subject = messageSource.getMessage(MailService.ACTIVATION_TITLE_KEY, null, locale);
+            contents.add(subject + content);
+        }
+        return contents;
+    }
+
+    @Benchmark
+    public List<RenderedEmail> renderAll() {
+        return renderer.renderAll(users, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+}
@@ -0,0 +1,90 @@
+package com.baamtu.atelier.bank.service.mapper;
+
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.security.AuthoritiesConstants;
+import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
+import com.baamtu.atelier.bank.service.dto.UserDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of the {@link UserMapper} list conversions used by the user management endpoints.
+ * <p>
+ * {@code perUser} benchmarks map each element on its own, through a stream, as the bulk paths used to. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm} to get the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({ "20", "10000" })
+    private int size;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    private List<AdminUserDTO> adminUserDTOs;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        Authority adminAuthority = new Authority();
+        adminAuthority.setName(AuthoritiesConstants.ADMIN);
+
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setLogin("user-" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user-" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setCreatedBy("system");
+            user.setCreatedDate(Instant.now());
+            user.setAuthorities(i % 10 == 0 ? Set.of(userAuthority, adminAuthority) : Set.of(userAuthority));
+            users.add(user);
+        }
+        adminUserDTOs = userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> perUserToAdminUserDTOs() {
+        return users.stream().filter(Objects::nonNull).map(userMapper::userToAdminUserDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<User> perUserDTOToUsers() {
+        return adminUserDTOs.stream().filter(Objects::nonNull).map(userMapper::userDTOToUser).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<AdminUserDTO> usersToAdminUserDTOs() {
+        return userMapper.usersToAdminUserDTOs(users);
+    }
+
+    @Benchmark
+    public List<User> userDTOsToUsers() {
+        return userMapper.userDTOsToUsers(adminUserDTOs);
+    }
+}
@@ -0,0 +1,112 @@
+package com.baamtu.atelier.bank.web.rest;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.domain.enumeration.Gender;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import com.baamtu.atelier.bank.security.AuthoritiesConstants;
+import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of the JSON serialization of an appointment page and of a user management page, with the modules registered
+ * by {@link com.baamtu.atelier.bank.config.JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "20", "1000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<Appointment> appointments;
+
+    private List<AdminUserDTO> users;
+
+    @Setup
+    public void setup() {
+        objectMapper =
+            new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module())
+                .registerModule(new Hibernate5Module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        Agency agency = new Agency().id(1L).name("Agency").address("1 Main Street").contact("Contact").email("agency@localhost");
+        Manager manager = new Manager().id(1L).gender(Gender.FEMALE).telephone("0000000000").user(user(1L, userAuthority));
+        Advisor advisor = new Advisor().id(2L).gender(Gender.MALE).telephone("1111111111").user(user(2L, userAuthority)).agency(agency);
+
+        Instant start = Instant.parse("2026-01-05T09:00:00Z");
+        appointments = new ArrayList<>(pageSize);
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Instant startDate = start.plus(Duration.ofMinutes(30L * i));
+            appointments.add(
+                new Appointment()
+                    .id((long) i)
+                    .created(start.minus(Duration.ofDays(1)))
+                    .appointementDate(startDate.atOffset(ZoneOffset.UTC).toLocalDate())
+                    .startDate(startDate)
+                    .endDate(startDate.plus(Duration.ofMinutes(30)))
+                    .title("Appointment " + i)
+                    .description("Review of the savings plan and of the loan application")
+                    .status(i % 2 == 0 ? Status.APPROVED : null)
+                    .statusChangeDate(start)
+                    .commentary("Bring the last three payslips")
+                    .manager(manager)
+                    .advisor(advisor)
+            );
+            users.add(new AdminUserDTO(user(100L + i, userAuthority)));
+        }
+    }
+
+    @Benchmark
+    public byte[] appointmentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] adminUserPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    private static User user(Long id, Authority authority) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("user-" + id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setEmail("user-" + id + "@localhost");
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setCreatedBy("system");
+        user.setCreatedDate(Instant.parse("2026-01-01T00:00:00Z"));
+        user.setAuthorities(Set.of(authority));
+        return user;
+    }
+}
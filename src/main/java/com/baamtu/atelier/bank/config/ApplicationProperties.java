@@ -1,5 +1,8 @@
 package com.baamtu.atelier.bank.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +12,376 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Password password = new Password();
+
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final Cache cache = new Cache();
+
+    public Password getPassword() {
+        return password;
+    }
+
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public static class Password {
+
+        /**
+         * BCrypt cost factor, from 4 to 31. Passwords hashed with another cost are re-hashed at the next login.
+         */
+        private int bcryptStrength = 10;
+
+        /**
+         * Number of threads hashing and verifying passwords.
+         */
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of hashing requests allowed to wait for a thread; past it, requests are rejected.
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * Longest time a hashing request may wait for its result; past it, the request is rejected.
+         */
+        private Duration waitTimeout = Duration.ofSeconds(10);
+
+        public int getBcryptStrength() {
+            return bcryptStrength;
+        }
+
+        public void setBcryptStrength(int bcryptStrength) {
+            this.bcryptStrength = bcryptStrength;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+    }
+
+    public static class LoginThrottle {
+
+        /**
+         * Failed attempts allowed for one login from one client IP within the window.
+         */
+        private int maxAttemptsPerLogin = 5;
+
+        /**
+         * Failed attempts allowed for one login from any client IP within the window; above the limit per login from
+         * one IP, it stops attempts spread over many IPs.
+         */
+        private int maxAttemptsPerAccount = 20;
+
+        /**
+         * Failed attempts allowed from one client IP within the window; several users may share the IP of a branch.
+         */
+        private int maxAttemptsPerIp = 100;
+
+        /**
+         * Length of the sliding window.
+         */
+        private Duration window = Duration.ofMinutes(5);
+
+        public int getMaxAttemptsPerLogin() {
+            return maxAttemptsPerLogin;
+        }
+
+        public void setMaxAttemptsPerLogin(int maxAttemptsPerLogin) {
+            this.maxAttemptsPerLogin = maxAttemptsPerLogin;
+        }
+
+        public int getMaxAttemptsPerAccount() {
+            return maxAttemptsPerAccount;
+        }
+
+        public void setMaxAttemptsPerAccount(int maxAttemptsPerAccount) {
+            this.maxAttemptsPerAccount = maxAttemptsPerAccount;
+        }
+
+        public int getMaxAttemptsPerIp() {
+            return maxAttemptsPerIp;
+        }
+
+        public void setMaxAttemptsPerIp(int maxAttemptsPerIp) {
+            this.maxAttemptsPerIp = maxAttemptsPerIp;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Delay between two runs of the outbox worker, as an ISO-8601 duration.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Emails sent per transaction and per SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Batches sent per run at most, so that a backlog does not hold the scheduler thread.
+         */
+        private int maxBatchesPerRun = 20;
+
+        /**
+         * Attempts after which an email is abandoned.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the first retry; it doubles at each failed attempt.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        /**
+         * Longest delay between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxBatchesPerRun() {
+            return maxBatchesPerRun;
+        }
+
+        public void setMaxBatchesPerRun(int maxBatchesPerRun) {
+            this.maxBatchesPerRun = maxBatchesPerRun;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Settings of each cache region, by cache name without the domain package (for instance {@code Appointment},
+         * {@code Manager.appointments} or {@code usersByLogin}). Unset values default to {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Region {
+
+            /**
+             * Entries kept on the heap.
+             */
+            private Long heapEntries;
+
+            /**
+             * Megabytes kept off the heap, behind the heap tier; the cached values must be serializable.
+             */
+            private Long offHeapMb;
+
+            /**
+             * Time after which an entry expires once written.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time after which an entry expires once last read or written; replaces the time to live when set.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public Long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(Long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Whether evictions are propagated to the other instances sharing the database.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Delay between two batches of local evictions sent, as an ISO-8601 duration.
+             */
+            private Duration flushInterval = Duration.ofMillis(200);
+
+            /**
+             * Delay between two reads of the evictions sent by the other instances, as an ISO-8601 duration.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * Keys of one region sent in a batch at most; past it, the whole region is invalidated instead.
+             */
+            private int maxKeysPerRegion = 500;
+
+            /**
+             * Time during which an eviction skipped by a poll, as it was not committed yet, is waited for.
+             */
+            private Duration grace = Duration.ofSeconds(10);
+
+            /**
+             * Time after which sent evictions are deleted.
+             */
+            private Duration retention = Duration.ofHours(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getMaxKeysPerRegion() {
+                return maxKeysPerRegion;
+            }
+
+            public void setMaxKeysPerRegion(int maxKeysPerRegion) {
+                this.maxKeysPerRegion = maxKeysPerRegion;
+            }
+
+            public Duration getGrace() {
+                return grace;
+            }
+
+            public void setGrace(Duration grace) {
+                this.grace = grace;
+            }
+
+            public Duration getRetention() {
+                return retention;
+            }
+
+            public void setRetention(Duration retention) {
+                this.retention = retention;
+            }
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.baamtu.atelier.bank.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.time.Duration;
+import java.util.Map;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.internal.statistics.DefaultStatisticsService;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,20 +27,24 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PACKAGE = com.baamtu.atelier.bank.domain.User.class.getPackageName() + ".";
+
+    private static final ApplicationProperties.Cache.Region DEFAULT_REGION = new ApplicationProperties.Cache.Region();
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
-
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
-
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
-            );
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+
+    /**
+     * Ehcache's statistics of the regions, fed by {@link #createCache}: the JSR-107 provider starts its own statistics
+     * service inside a cache manager it does not expose, and JCache itself has no entry-count statistic.
+     */
+    private final DefaultStatisticsService statisticsService = new DefaultStatisticsService();
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
     }
 
     @Bean
@@ -45,6 +57,8 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.baamtu.atelier.bank.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.baamtu.atelier.bank.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.baamtu.atelier.bank.service.ProfileCache.ADVISORS_BY_LOGIN_CACHE);
+            createCache(cm, com.baamtu.atelier.bank.service.ProfileCache.MANAGERS_BY_LOGIN_CACHE);
             createCache(cm, com.baamtu.atelier.bank.domain.User.class.getName());
             createCache(cm, com.baamtu.atelier.bank.domain.Authority.class.getName());
             createCache(cm, com.baamtu.atelier.bank.domain.User.class.getName() + ".authorities");
@@ -55,6 +69,8 @@ public class CacheConfiguration {
             createCache(cm, com.baamtu.atelier.bank.domain.Manager.class.getName());
             createCache(cm, com.baamtu.atelier.bank.domain.Manager.class.getName() + ".appointments");
             createCache(cm, com.baamtu.atelier.bank.domain.Appointment.class.getName());
+            createCache(cm, com.baamtu.atelier.bank.service.AgencyAvailabilityService.AGENCY_BUSY_SPANS_CACHE);
+            createCache(cm, com.baamtu.atelier.bank.service.ReferenceListCache.REFERENCE_LISTS_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -64,8 +80,85 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cache = cm.createCache(cacheName, regionConfiguration(cacheName));
         }
+        statisticsService.cacheAdded(cacheName, cache.unwrap(org.ehcache.Cache.class));
+        // Publishes the hit, miss, put, removal and eviction counters Ehcache keeps anyway, which Spring Boot binds to
+        // Micrometer as the cache.* meters of each region
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * Publish the number of entries of every region as the {@code cache.size} gauge, read from Ehcache's tier
+     * statistics when scraped. The authoritative tier holds every entry of a region, so it has the most mappings.
+     */
+    @Bean
+    public MeterBinder cacheSizeMetrics(javax.cache.CacheManager cacheManager) {
+        return registry -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Gauge
+                    .builder("cache.size", statisticsService, statistics -> size(statistics, cacheName))
+                    .tag("cache", cacheName)
+                    .description("The number of entries in this cache")
+                    .baseUnit("entries")
+                    .register(registry);
+            }
+        };
+    }
+
+    private static double size(DefaultStatisticsService statistics, String cacheName) {
+        try {
+            return statistics
+                .getCacheStatistics(cacheName)
+                .getTierStatistics()
+                .values()
+                .stream()
+                .mapToLong(TierStatistics::getMappings)
+                .max()
+                .orElse(0L);
+        } catch (IllegalArgumentException e) {
+            // Not created by this configuration
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Build the configuration of a cache region from its {@code application.cache.regions} settings, falling back to
+     * {@code jhipster.cache.ehcache} for the unset ones.
+     */
+    javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.getOrDefault(regionName(cacheName), DEFAULT_REGION);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        boolean offHeap = region.getOffHeapMb() != null && region.getOffHeapMb() > 0;
+        if (offHeap) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        ExpiryPolicy<Object, Object> expiry;
+        if (region.getTimeToIdle() != null) {
+            expiry = ExpiryPolicyBuilder.timeToIdleExpiration(region.getTimeToIdle());
+        } else if (region.getTimeToLive() != null) {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(region.getTimeToLive());
+        } else {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(expiry);
+        if (offHeap) {
+            // Ehcache has no default serializer for Object keys and values, which the off-heap tier stores as bytes
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder =
+                builder
+                    .withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    static String regionName(String cacheName) {
+        return cacheName.startsWith(DOMAIN_PACKAGE) ? cacheName.substring(DOMAIN_PACKAGE.length()) : cacheName;
     }
 
     @Autowired(required = false)
@@ -0,0 +1,87 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import java.util.Objects;
+
+/**
+ * The eviction of a key, or of a whole region, of a Spring cache or of a Hibernate entity or collection region.
+ * <p>
+ * Keys travel between instances, so only {@link String} and {@link Long} keys are supported; the other ones are
+ * invalidated with their whole region.
+ */
+public final class CacheInvalidation {
+
+    private final String region;
+
+    private final Object key;
+
+    private CacheInvalidation(String region, Object key) {
+        this.region = Objects.requireNonNull(region);
+        this.key = key;
+    }
+
+    /**
+     * Evict one key of a region.
+     *
+     * @param region the name of the region.
+     * @param key the key; a key of another type than {@link String} or {@link Long} evicts the whole region.
+     * @return the invalidation.
+     */
+    public static CacheInvalidation ofKey(String region, Object key) {
+        return new CacheInvalidation(region, isSupportedKey(key) ? key : null);
+    }
+
+    /**
+     * Evict a whole region.
+     *
+     * @param region the name of the region.
+     * @return the invalidation.
+     */
+    public static CacheInvalidation ofRegion(String region) {
+        return new CacheInvalidation(region, null);
+    }
+
+    static boolean isSupportedKey(Object key) {
+        return key instanceof String || key instanceof Long;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the evicted key, or {@code null} if the whole region is evicted.
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    public boolean isWholeRegion() {
+        return key == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return region.equals(that.region) && Objects.equals(key, that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(region, key);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "region='" + region + "'" +
+            ", key=" + key +
+            "}";
+    }
+}
@@ -0,0 +1,25 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import java.util.List;
+
+/**
+ * Transport of cache invalidations between the instances of the application.
+ * <p>
+ * Implementations only move batches around; batching, coalescing and applying the invalidations are done by
+ * {@link CacheInvalidationBus}.
+ */
+public interface CacheInvalidationBroadcaster {
+    /**
+     * Send a batch of invalidations to the other instances.
+     *
+     * @param invalidations the invalidations made by this instance.
+     */
+    void broadcast(List<CacheInvalidation> invalidations);
+
+    /**
+     * Get the invalidations sent by the other instances since the previous call.
+     *
+     * @return the invalidations, in the order they were sent; never the ones sent by this instance.
+     */
+    List<CacheInvalidation> receive();
+}
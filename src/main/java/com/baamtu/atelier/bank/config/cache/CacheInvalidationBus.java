@@ -0,0 +1,209 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Propagates cache evictions between the instances of the application through a {@link CacheInvalidationBroadcaster}.
+ * <p>
+ * Local evictions are queued once their transaction commits, and sent in batches. Within a batch, evictions are
+ * coalesced: a key is sent once, and a region with too many evicted keys, or evicted as a whole, is sent as a single
+ * region-wide invalidation. Evictions received from other instances are applied to the Hibernate regions or to the
+ * Spring caches, without being sent again.
+ */
+public class CacheInvalidationBus {
+
+    private static final ThreadLocal<Boolean> APPLYING = ThreadLocal.withInitial(() -> false);
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    private final CacheManager cacheManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final int maxKeysPerRegion;
+
+    private final Counter sent;
+
+    private final Counter received;
+
+    /**
+     * Keys to send by region; a {@code null} set stands for the whole region.
+     */
+    private Map<String, Set<Object>> pending = new LinkedHashMap<>();
+
+    public CacheInvalidationBus(
+        CacheInvalidationBroadcaster broadcaster,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.broadcaster = broadcaster;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxKeysPerRegion = applicationProperties.getCache().getInvalidation().getMaxKeysPerRegion();
+        this.sent = Counter.builder("cache.invalidation.sent").description("Cache invalidations sent").register(meterRegistry);
+        this.received =
+            Counter.builder("cache.invalidation.received").description("Cache invalidations received and applied").register(meterRegistry);
+    }
+
+    /**
+     * Propagate the eviction of a key, once the current transaction commits if there is one.
+     * <p>
+     * Evictions made while applying the ones received from other instances are not propagated.
+     *
+     * @param region the name of the region.
+     * @param key the evicted key, or {@code null} for the whole region.
+     */
+    public void publish(String region, Object key) {
+        if (APPLYING.get()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // afterCompletion, as afterCommit is not called for synchronizations registered while committing
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            enqueue(region, key);
+                        }
+                    }
+                }
+            );
+        } else {
+            enqueue(region, key);
+        }
+    }
+
+    synchronized void enqueue(String region, Object key) {
+        if (pending.containsKey(region) && pending.get(region) == null) {
+            return;
+        }
+        if (key == null || !CacheInvalidation.isSupportedKey(key)) {
+            pending.put(region, null);
+            return;
+        }
+        Set<Object> keys = pending.computeIfAbsent(region, name -> new LinkedHashSet<>());
+        keys.add(key);
+        if (keys.size() > maxKeysPerRegion) {
+            pending.put(region, null);
+        }
+    }
+
+    /**
+     * Send the queued evictions as one batch. If they cannot be sent, they are queued again for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.flush-interval:PT0.2S}")
+    public void flush() {
+        Map<String, Set<Object>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        batch.forEach(
+            (region, keys) -> {
+                if (keys == null) {
+                    invalidations.add(CacheInvalidation.ofRegion(region));
+                } else {
+                    keys.forEach(key -> invalidations.add(CacheInvalidation.ofKey(region, key)));
+                }
+            }
+        );
+        try {
+            broadcaster.broadcast(invalidations);
+            sent.increment(invalidations.size());
+        } catch (DataAccessException e) {
+            log.warn("Could not send {} cache invalidations, they will be sent again: {}", invalidations.size(), e.getMessage());
+            invalidations.forEach(invalidation -> enqueue(invalidation.getRegion(), invalidation.getKey()));
+        }
+    }
+
+    /**
+     * Apply the evictions sent by the other instances.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.poll-interval:PT1S}")
+    public void poll() {
+        List<CacheInvalidation> invalidations;
+        try {
+            invalidations = broadcaster.receive();
+        } catch (DataAccessException e) {
+            log.warn("Could not receive cache invalidations: {}", e.getMessage());
+            return;
+        }
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        MetamodelImplementor metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+        APPLYING.set(true);
+        try {
+            for (CacheInvalidation invalidation : invalidations) {
+                apply(invalidation, metamodel);
+            }
+        } finally {
+            APPLYING.set(false);
+        }
+        received.increment(invalidations.size());
+        log.debug("Applied {} cache invalidations", invalidations.size());
+    }
+
+    private void apply(CacheInvalidation invalidation, MetamodelImplementor metamodel) {
+        String region = invalidation.getRegion();
+        Serializable key = (Serializable) invalidation.getKey();
+        org.hibernate.Cache hibernateCache = metamodel.getSessionFactory().getCache();
+        EntityPersister entityPersister = metamodel.entityPersisters().get(region);
+        if (entityPersister != null) {
+            if (key == null) {
+                hibernateCache.evictEntityData(region);
+            } else {
+                hibernateCache.evictEntityData(region, key);
+            }
+            return;
+        }
+        CollectionPersister collectionPersister = metamodel.collectionPersisters().get(region);
+        if (collectionPersister != null) {
+            if (key == null) {
+                hibernateCache.evictCollectionData(region);
+            } else {
+                hibernateCache.evictCollectionData(region, key);
+            }
+            return;
+        }
+        Cache cache = cacheManager.getCache(region);
+        if (cache == null) {
+            log.debug("Ignoring the invalidation of unknown cache region {}", region);
+        } else if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Propagation of the cache evictions to the other instances, when {@code application.cache.invalidation.enabled} is
+ * set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfiguration {
+
+    @Bean
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster(
+        JdbcTemplate jdbcTemplate,
+        ApplicationProperties applicationProperties
+    ) {
+        return new JdbcCacheInvalidationBroadcaster(jdbcTemplate, applicationProperties);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+        CacheInvalidationBroadcaster broadcaster,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new CacheInvalidationBus(broadcaster, cacheManager, entityManagerFactory, applicationProperties, meterRegistry);
+    }
+
+    @Bean
+    public CacheInvalidationListeners cacheInvalidationListeners(
+        CacheInvalidationBus bus,
+        EntityManagerFactory entityManagerFactory,
+        javax.cache.CacheManager cacheManager
+    ) {
+        CacheInvalidationListeners listeners = new CacheInvalidationListeners(bus);
+        listeners.register(entityManagerFactory.unwrap(SessionFactoryImplementor.class), cacheManager);
+        return listeners;
+    }
+}
@@ -0,0 +1,141 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.service.AppointmentsBulkChangedEvent;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryRemovedListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Publishes the local evictions to the {@link CacheInvalidationBus}: the updates and deletions of cached Hibernate
+ * entities and collections, the appointments written in bulk, and the removals from the Spring caches.
+ */
+public class CacheInvalidationListeners
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        CacheEntryRemovedListener<Object, Object> {
+
+    private final CacheInvalidationBus bus;
+
+    public CacheInvalidationListeners(CacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Register as a Hibernate event listener, and as a JCache listener of every cache which is not a Hibernate region.
+     *
+     * @param sessionFactory the Hibernate session factory.
+     * @param cacheManager the JCache cache manager.
+     */
+    public void register(SessionFactoryImplementor sessionFactory, javax.cache.CacheManager cacheManager) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+
+        MetamodelImplementor metamodel = sessionFactory.getMetamodel();
+        Set<String> hibernateRegions = new HashSet<>(metamodel.entityPersisters().keySet());
+        hibernateRegions.addAll(metamodel.collectionPersisters().keySet());
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (!hibernateRegions.contains(cacheName)) {
+                // Synchronous, so that evictions applied by the bus are recognized on the same thread and not sent back
+                cacheManager
+                    .getCache(cacheName)
+                    .registerCacheEntryListener(
+                        new MutableCacheEntryListenerConfiguration<>(new FactoryBuilder.SingletonFactory<>(this), null, false, true)
+                    );
+            }
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        publishCollection(event);
+    }
+
+    /**
+     * Publish the evictions of appointments written in bulk, which Hibernate makes without any entity event: the
+     * appointments if they are known, otherwise their region and the collections of appointments, as new ones may have
+     * been inserted.
+     * <p>
+     * Not transactional, as the bus itself waits for the commit.
+     *
+     * @param event the change.
+     */
+    @EventListener
+    public void onAppointmentsBulkChanged(AppointmentsBulkChangedEvent event) {
+        Optional<Set<Long>> ids = event.getIds();
+        if (ids.isPresent()) {
+            ids.get().forEach(id -> bus.publish(Appointment.class.getName(), id));
+        } else {
+            bus.publish(Appointment.class.getName(), null);
+            bus.publish(Advisor.class.getName() + ".appointments", null);
+            bus.publish(Manager.class.getName() + ".appointments", null);
+        }
+    }
+
+    @Override
+    public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) {
+        for (CacheEntryEvent<?, ?> event : events) {
+            bus.publish(event.getSource().getName(), event.getKey());
+        }
+    }
+
+    private void publishEntity(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            bus.publish(persister.getEntityName(), id);
+        }
+    }
+
+    private void publishCollection(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (role != null && event.getSession().getFactory().getMetamodel().collectionPersister(role).hasCache()) {
+            bus.publish(role, event.getAffectedOwnerIdOrNull());
+        }
+    }
+}
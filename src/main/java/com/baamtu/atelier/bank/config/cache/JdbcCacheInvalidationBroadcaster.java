@@ -0,0 +1,181 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * {@link CacheInvalidationBroadcaster} writing the invalidations to the {@code cache_invalidation} table, which every
+ * instance polls. It only needs the database the instances already share.
+ * <p>
+ * Rows are read by id, so the clocks of the instances do not matter. As ids may be committed out of order, an id
+ * skipped by a poll is read again by the following ones, until it shows up or the grace period has passed since it
+ * was first missed, which is measured with the clock of the polling instance only. Ids delivered past such a gap are
+ * remembered so that they are not delivered twice. The creation time of the rows, from the clock of the sender, only
+ * serves to purge them.
+ */
+public class JdbcCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final String STRING_KEY = "S:";
+
+    private static final String LONG_KEY = "L:";
+
+    /**
+     * Larger gaps are jumps of the id sequence, or rows purged before the first poll, rather than uncommitted rows.
+     */
+    private static final long MAX_MISSING_IDS = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationBroadcaster.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String nodeId;
+
+    private final Duration grace;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    /**
+     * Every id up to the cursor has been delivered, or given up.
+     */
+    private long cursor;
+
+    /**
+     * The highest id read so far.
+     */
+    private long highestId;
+
+    /**
+     * Ids above the cursor already delivered.
+     */
+    private final Set<Long> deliveredIds = new HashSet<>();
+
+    /**
+     * Ids above the cursor and below the highest id not read yet, with the time they were first missed.
+     */
+    private final SortedMap<Long, Long> missingIds = new TreeMap<>();
+
+    public JdbcCacheInvalidationBroadcaster(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this(jdbcTemplate, applicationProperties.getCache().getInvalidation(), UUID.randomUUID().toString(), Clock.systemUTC());
+    }
+
+    JdbcCacheInvalidationBroadcaster(
+        JdbcTemplate jdbcTemplate,
+        ApplicationProperties.Cache.Invalidation properties,
+        String nodeId,
+        Clock clock
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId;
+        this.grace = properties.getGrace();
+        this.retention = properties.getRetention();
+        this.clock = clock;
+    }
+
+    @Override
+    public void broadcast(List<CacheInvalidation> invalidations) {
+        long now = clock.millis();
+        jdbcTemplate.batchUpdate(
+            "insert into cache_invalidation (node_id, region, cache_key, created_time) values (?, ?, ?, ?)",
+            invalidations,
+            invalidations.size(),
+            (ps, invalidation) -> {
+                ps.setString(1, nodeId);
+                ps.setString(2, invalidation.getRegion());
+                ps.setString(3, encode(invalidation.getKey()));
+                ps.setLong(4, now);
+            }
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The first call returns all the invalidations still in the table, sent before this instance could cache
+     * anything stale or not.
+     */
+    @Override
+    public synchronized List<CacheInvalidation> receive() {
+        long now = clock.millis();
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        jdbcTemplate.query(
+            "select id, node_id, region, cache_key from cache_invalidation where id > ? order by id",
+            rs -> {
+                long id = rs.getLong("id");
+                if (id > highestId) {
+                    addMissingIds(highestId + 1, id, now);
+                    highestId = id;
+                } else {
+                    missingIds.remove(id);
+                }
+                if (deliveredIds.add(id) && !nodeId.equals(rs.getString("node_id"))) {
+                    invalidations.add(decode(rs.getString("region"), rs.getString("cache_key")));
+                }
+            },
+            cursor
+        );
+        long expired = now - grace.toMillis();
+        if (missingIds.values().removeIf(missedTime -> missedTime < expired)) {
+            log.debug("Gave up waiting for cache invalidations missing for {}", grace);
+        }
+        cursor = missingIds.isEmpty() ? highestId : missingIds.firstKey() - 1;
+        deliveredIds.removeIf(id -> id <= cursor);
+        return invalidations;
+    }
+
+    private void addMissingIds(long from, long to, long missedTime) {
+        if (to - from > MAX_MISSING_IDS) {
+            return;
+        }
+        for (long id = from; id < to; id++) {
+            missingIds.put(id, missedTime);
+        }
+    }
+
+    /**
+     * Delete the invalidations older than the retention.
+     * <p>
+     * This is scheduled to run every hour.
+     */
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purge() {
+        int deleted = jdbcTemplate.update("delete from cache_invalidation where created_time < ?", clock.millis() - retention.toMillis());
+        log.debug("Deleted {} cache invalidations", deleted);
+    }
+
+    static String encode(Object key) {
+        String encoded = null;
+        if (key instanceof String) {
+            encoded = STRING_KEY + key;
+        } else if (key instanceof Long) {
+            encoded = LONG_KEY + key;
+        }
+        // Keys too long for the column invalidate their whole region
+        return encoded != null && encoded.length() <= MAX_KEY_LENGTH ? encoded : null;
+    }
+
+    static CacheInvalidation decode(String region, String key) {
+        if (key == null) {
+            return CacheInvalidation.ofRegion(region);
+        }
+        if (key.startsWith(LONG_KEY)) {
+            return CacheInvalidation.ofKey(region, Long.valueOf(key.substring(LONG_KEY.length())));
+        }
+        return CacheInvalidation.ofKey(region, key.substring(STRING_KEY.length()));
+    }
+}
@@ -0,0 +1,38 @@
+package com.baamtu.atelier.bank.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * Base abstract class for entities which hold the date of their last modification, used as the validator of the
+ * conditional requests of their REST resources.
+ * <p>
+ * The date is set whenever the entity is inserted or updated through JPA; bulk updates must set it themselves.
+ */
+@MappedSuperclass
+public abstract class AbstractLastModifiedEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "last_modified_date", nullable = false)
+    @JsonIgnore
+    private Instant lastModifiedDate;
+
+    @JsonIgnore
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void updateLastModifiedDate() {
+        // The precision of the database
+        this.lastModifiedDate = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
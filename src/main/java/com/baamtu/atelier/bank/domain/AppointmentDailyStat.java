@@ -0,0 +1,68 @@
+package com.baamtu.atelier.bank.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+
+/**
+ * The number of appointments of an advisor on a given day with a given status, {@code PENDING} standing for the
+ * appointments without status. It is derived from the {@link Appointment} table.
+ */
+@Entity
+@Table(name = "appointment_daily_stat")
+public class AppointmentDailyStat implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Status recorded for the appointments which have none yet.
+     */
+    public static final String PENDING = "PENDING";
+
+    @EmbeddedId
+    private AppointmentDailyStatId id;
+
+    @Column(name = "appointment_count", nullable = false)
+    private long appointmentCount;
+
+    public AppointmentDailyStatId getId() {
+        return id;
+    }
+
+    public void setId(AppointmentDailyStatId id) {
+        this.id = id;
+    }
+
+    public long getAppointmentCount() {
+        return appointmentCount;
+    }
+
+    public void setAppointmentCount(long appointmentCount) {
+        this.appointmentCount = appointmentCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AppointmentDailyStat)) {
+            return false;
+        }
+        return id != null && id.equals(((AppointmentDailyStat) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentDailyStat{" +
+            "id=" + getId() +
+            ", appointmentCount=" + getAppointmentCount() +
+            "}";
+    }
+}
@@ -0,0 +1,75 @@
+package com.baamtu.atelier.bank.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import javax.persistence.*;
+
+/**
+ * Key of an {@link AppointmentDailyStat}.
+ */
+@Embeddable
+public class AppointmentDailyStatId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "advisor_id", nullable = false)
+    private Long advisorId;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public Long getAdvisorId() {
+        return advisorId;
+    }
+
+    public void setAdvisorId(Long advisorId) {
+        this.advisorId = advisorId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AppointmentDailyStatId)) {
+            return false;
+        }
+        AppointmentDailyStatId that = (AppointmentDailyStatId) o;
+        return Objects.equals(statDate, that.statDate) && Objects.equals(advisorId, that.advisorId) && Objects.equals(status, that.status);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statDate, advisorId, status);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentDailyStatId{" +
+            "statDate='" + getStatDate() + "'" +
+            ", advisorId=" + getAdvisorId() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,204 @@
+package com.baamtu.atelier.bank.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import org.hibernate.annotations.GenericGenerator;
+
+/**
+ * An email waiting to be sent to a user, written in the same transaction as the change it notifies.
+ */
+@Entity
+@Table(name = "mail_outbox")
+public class MailOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = PooledSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledSequenceGenerator.NAME, strategy = PooledSequenceGenerator.STRATEGY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    private User user;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "template_name", length = 100, nullable = false)
+    private String templateName;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "title_key", length = 100, nullable = false)
+    private String titleKey;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "sent_date")
+    private Instant sentDate;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_date", nullable = false)
+    private Instant nextAttemptDate;
+
+    @Size(max = 255)
+    @Column(name = "last_error", length = 255)
+    private String lastError;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public MailOutboxEntry id(Long id) {
+        this.id = id;
+        return this;
+    }
+
+    public User getUser() {
+        return this.user;
+    }
+
+    public MailOutboxEntry user(User user) {
+        this.setUser(user);
+        return this;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getTemplateName() {
+        return this.templateName;
+    }
+
+    public MailOutboxEntry templateName(String templateName) {
+        this.templateName = templateName;
+        return this;
+    }
+
+    public void setTemplateName(String templateName) {
+        this.templateName = templateName;
+    }
+
+    public String getTitleKey() {
+        return this.titleKey;
+    }
+
+    public MailOutboxEntry titleKey(String titleKey) {
+        this.titleKey = titleKey;
+        return this;
+    }
+
+    public void setTitleKey(String titleKey) {
+        this.titleKey = titleKey;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public MailOutboxEntry createdDate(Instant createdDate) {
+        this.createdDate = createdDate;
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getSentDate() {
+        return this.sentDate;
+    }
+
+    public MailOutboxEntry sentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+        return this;
+    }
+
+    public void setSentDate(Instant sentDate) {
+        this.sentDate = sentDate;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public MailOutboxEntry attempts(Integer attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptDate() {
+        return this.nextAttemptDate;
+    }
+
+    public MailOutboxEntry nextAttemptDate(Instant nextAttemptDate) {
+        this.nextAttemptDate = nextAttemptDate;
+        return this;
+    }
+
+    public void setNextAttemptDate(Instant nextAttemptDate) {
+        this.nextAttemptDate = nextAttemptDate;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public MailOutboxEntry lastError(String lastError) {
+        this.lastError = lastError;
+        return this;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MailOutboxEntry)) {
+            return false;
+        }
+        return id != null && id.equals(((MailOutboxEntry) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MailOutboxEntry{" +
+            "id=" + getId() +
+            ", templateName='" + getTemplateName() + "'" +
+            ", titleKey='" + getTitleKey() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", sentDate='" + getSentDate() + "'" +
+            ", attempts=" + getAttempts() +
+            ", nextAttemptDate='" + getNextAttemptDate() + "'" +
+            ", lastError='" + getLastError() + "'" +
+            "}";
+    }
+}
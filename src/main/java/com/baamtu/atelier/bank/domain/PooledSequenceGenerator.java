@@ -0,0 +1,44 @@
+package com.baamtu.atelier.bank.domain;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Id generator shared by the entities, backed by the {@code sequence_generator} sequence with the pooled optimizer.
+ * <p>
+ * Each {@code nextval} reserves a block of {@code bank.id.allocation_size} ids, which are then assigned in memory,
+ * so batched inserts do not pay a round-trip per row. The allocation size must be the increment of the sequence,
+ * which Liquibase sets from the same {@code idAllocationSize} parameter.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String NAME = "sequenceGenerator";
+
+    public static final String STRATEGY = "com.baamtu.atelier.bank.domain.PooledSequenceGenerator";
+
+    public static final String SEQUENCE_NAME = "sequence_generator";
+
+    /**
+     * Hibernate setting holding the number of ids reserved per {@code nextval}.
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "bank.id.allocation_size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry
+            .getService(ConfigurationService.class)
+            .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        params.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.baamtu.atelier.bank.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the advisor and the day of an {@link com.baamtu.atelier.bank.domain.Appointment}.
+ */
+public interface AdvisorDay {
+    Long getAdvisorId();
+
+    LocalDate getDay();
+}
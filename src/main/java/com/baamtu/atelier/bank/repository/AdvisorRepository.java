@@ -2,7 +2,12 @@ package com.baamtu.atelier.bank.repository;
 
 import com.baamtu.atelier.bank.domain.Advisor;
 import com.baamtu.atelier.bank.domain.Manager;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,6 +16,33 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface AdvisorRepository extends JpaRepository<Advisor, Long> {
-    @Query("select advisor from Advisor advisor where advisor.user.login = ?#{principal.username}")
-    Advisor findByUserIsCurrentUser();
+    /**
+     * The advisor of a user, with its user and agency; cached as a profile by {@code ProfileCache}.
+     */
+    @EntityGraph(attributePaths = { "user", "agency" })
+    Optional<Advisor> findOneByUserLogin(String login);
+
+    /**
+     * Validator of the "id" advisor, which shows the login of its user, read without loading it.
+     */
+    @Query(
+        "select advisor.lastModifiedDate as lastModifiedDate, advisorUser.lastModifiedDate as advisorUserLastModifiedDate " +
+        "from Advisor advisor join advisor.user advisorUser where advisor.id = :id"
+    )
+    Optional<ModificationStamp> findModificationStampById(@Param("id") Long id);
+
+    @Query("select advisor.id from Advisor advisor where advisor.agency.id = :agencyId order by advisor.id")
+    List<Long> findIdsByAgencyId(@Param("agencyId") Long agencyId);
+
+    /**
+     * Ids, among the given ones, of the existing advisors.
+     */
+    @Query("select advisor.id from Advisor advisor where advisor.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load the advisor and lock its row until the end of the transaction, to serialize the bookings of its appointments.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Advisor> findWithLockById(Long id);
 }
@@ -0,0 +1,15 @@
+package com.baamtu.atelier.bank.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of the {@code [startDate, endDate)} span of an {@link com.baamtu.atelier.bank.domain.Appointment},
+ * along with the id of the agency of its advisor.
+ */
+public interface AgencyAppointmentSpan {
+    Long getAgencyId();
+
+    Instant getStartDate();
+
+    Instant getEndDate();
+}
@@ -1,7 +1,9 @@
 package com.baamtu.atelier.bank.repository;
 
 import com.baamtu.atelier.bank.domain.Agency;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AgencyRepository extends JpaRepository<Agency, Long> {}
+public interface AgencyRepository extends JpaRepository<Agency, Long> {
+    /**
+     * Validator of the "id" agency, read without loading it.
+     */
+    @Query("select agency.lastModifiedDate as lastModifiedDate from Agency agency where agency.id = :id")
+    Optional<ModificationStamp> findModificationStampById(@Param("id") Long id);
+}
@@ -0,0 +1,50 @@
+package com.baamtu.atelier.bank.repository;
+
+import com.baamtu.atelier.bank.domain.AppointmentDailyStat;
+import com.baamtu.atelier.bank.domain.AppointmentDailyStatId;
+import com.baamtu.atelier.bank.service.dto.AppointmentStatDTO;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the AppointmentDailyStat entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AppointmentDailyStatRepository
+    extends JpaRepository<AppointmentDailyStat, AppointmentDailyStatId>, AppointmentDailyStatRepositoryWithRecount {
+    @Query(
+        "SELECT new com.baamtu.atelier.bank.service.dto.AppointmentStatDTO(" +
+        "stat.id.statDate, stat.id.advisorId, agency.id, stat.id.status, stat.appointmentCount) " +
+        "FROM AppointmentDailyStat stat, Advisor advisor LEFT JOIN advisor.agency agency " +
+        "WHERE advisor.id = stat.id.advisorId AND stat.id.statDate >= :from AND stat.id.statDate <= :to " +
+        "ORDER BY stat.id.statDate, stat.id.advisorId, stat.id.status"
+    )
+    List<AppointmentStatDTO> findByAdvisor(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(
+        "SELECT new com.baamtu.atelier.bank.service.dto.AppointmentStatDTO(" +
+        "stat.id.statDate, stat.id.advisorId, agency.id, stat.id.status, stat.appointmentCount) " +
+        "FROM AppointmentDailyStat stat, Advisor advisor JOIN advisor.agency agency " +
+        "WHERE advisor.id = stat.id.advisorId AND agency.id = :agencyId AND stat.id.statDate >= :from AND stat.id.statDate <= :to " +
+        "ORDER BY stat.id.statDate, stat.id.advisorId, stat.id.status"
+    )
+    List<AppointmentStatDTO> findByAdvisorForAgency(
+        @Param("agencyId") Long agencyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    @Query(
+        "SELECT new com.baamtu.atelier.bank.service.dto.AppointmentStatDTO(" +
+        "stat.id.statDate, agency.id, stat.id.status, SUM(stat.appointmentCount)) " +
+        "FROM AppointmentDailyStat stat, Advisor advisor JOIN advisor.agency agency " +
+        "WHERE advisor.id = stat.id.advisorId AND stat.id.statDate >= :from AND stat.id.statDate <= :to " +
+        "GROUP BY stat.id.statDate, agency.id, stat.id.status " +
+        "ORDER BY stat.id.statDate, agency.id, stat.id.status"
+    )
+    List<AppointmentStatDTO> findByAgency(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
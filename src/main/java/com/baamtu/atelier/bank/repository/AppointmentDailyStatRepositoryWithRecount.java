@@ -0,0 +1,16 @@
+package com.baamtu.atelier.bank.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Recounts of the {@link com.baamtu.atelier.bank.domain.AppointmentDailyStat}s from the appointments.
+ */
+public interface AppointmentDailyStatRepositoryWithRecount {
+    int deleteByAdvisorAndDay(Long advisorId, LocalDate day);
+
+    int countByAdvisorAndDay(Long advisorId, LocalDate day);
+
+    int deleteAllStats();
+
+    int countAll();
+}
@@ -0,0 +1,53 @@
+package com.baamtu.atelier.bank.repository;
+
+import com.baamtu.atelier.bank.domain.AppointmentDailyStat;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * The recounts are native statements, which declare the table they write: without it, Hibernate cannot tell which
+ * cache regions a native statement affects, and evicts the whole second level cache after each one.
+ */
+public class AppointmentDailyStatRepositoryWithRecountImpl implements AppointmentDailyStatRepositoryWithRecount {
+
+    private static final String COUNT_APPOINTMENTS =
+        "INSERT INTO appointment_daily_stat (stat_date, advisor_id, status, appointment_count) " +
+        "SELECT appointement_date, advisor_id, COALESCE(status, 'PENDING'), COUNT(*) FROM appointment ";
+
+    private static final String GROUP_BY_STAT = "GROUP BY appointement_date, advisor_id, COALESCE(status, 'PENDING')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int deleteByAdvisorAndDay(Long advisorId, LocalDate day) {
+        return statement("DELETE FROM appointment_daily_stat WHERE advisor_id = :advisorId AND stat_date = :day")
+            .setParameter("advisorId", advisorId)
+            .setParameter("day", day)
+            .executeUpdate();
+    }
+
+    @Override
+    public int countByAdvisorAndDay(Long advisorId, LocalDate day) {
+        return statement(COUNT_APPOINTMENTS + "WHERE advisor_id = :advisorId AND appointement_date = :day " + GROUP_BY_STAT)
+            .setParameter("advisorId", advisorId)
+            .setParameter("day", day)
+            .executeUpdate();
+    }
+
+    @Override
+    public int deleteAllStats() {
+        return statement("DELETE FROM appointment_daily_stat").executeUpdate();
+    }
+
+    @Override
+    public int countAll() {
+        return statement(COUNT_APPOINTMENTS + GROUP_BY_STAT).executeUpdate();
+    }
+
+    private NativeQuery<?> statement(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class).addSynchronizedEntityClass(AppointmentDailyStat.class);
+    }
+}
@@ -1,8 +1,17 @@
 package com.baamtu.atelier.bank.repository;
 
 import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,9 +20,271 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    @Query("SELECT appointment FROM Appointment appointment WHERE appointment.manager.id=?1")
-    List<Appointment> findAllByManagerUser(Long manager_id);
+    /**
+     * Number of rows fetched per round trip by the export streams.
+     */
+    String EXPORT_FETCH_SIZE = "500";
 
-    @Query("SELECT appointment FROM Appointment appointment WHERE appointment.advisor.id=?1")
-    List<Appointment> findAllByAdvisorUser(Long advisor_id);
+    /**
+     * Select clause of the {@link AppointmentSummary} projection, joining the manager, the advisor, their users and the
+     * agency so that a single statement loads everything the listings serialize.
+     */
+    String SUMMARY_QUERY =
+        "SELECT appointment.id AS id, appointment.created AS created, appointment.appointementDate AS appointementDate, " +
+        "appointment.startDate AS startDate, appointment.endDate AS endDate, appointment.title AS title, " +
+        "appointment.description AS description, appointment.status AS status, " +
+        "appointment.statusChangeDate AS statusChangeDate, appointment.commentary AS commentary, " +
+        "manager.id AS managerId, managerUser.login AS managerLogin, managerUser.firstName AS managerFirstName, " +
+        "managerUser.lastName AS managerLastName, advisor.id AS advisorId, advisorUser.login AS advisorLogin, " +
+        "advisorUser.firstName AS advisorFirstName, advisorUser.lastName AS advisorLastName, " +
+        "agency.id AS agencyId, agency.name AS agencyName " +
+        "FROM Appointment appointment JOIN appointment.manager manager JOIN manager.user managerUser " +
+        "JOIN appointment.advisor advisor JOIN advisor.user advisorUser LEFT JOIN advisor.agency agency ";
+
+    /**
+     * Select clause of the {@link ModificationStamp} of a listing of {@link AppointmentSummary}, with the same joins
+     * as {@link #SUMMARY_QUERY}, so that renaming a user or an agency changes it too.
+     */
+    String SUMMARY_STAMP_QUERY =
+        "SELECT COUNT(appointment) AS entityCount, MAX(appointment.lastModifiedDate) AS lastModifiedDate, " +
+        "MAX(managerUser.lastModifiedDate) AS managerUserLastModifiedDate, " +
+        "MAX(advisorUser.lastModifiedDate) AS advisorUserLastModifiedDate, MAX(agency.lastModifiedDate) AS agencyLastModifiedDate " +
+        "FROM Appointment appointment JOIN appointment.manager manager JOIN manager.user managerUser " +
+        "JOIN appointment.advisor advisor JOIN advisor.user advisorUser LEFT JOIN advisor.agency agency ";
+
+    /**
+     * Condition of the appointments overlapping {@code [from, to)}, empty ones included when they start in it. The start
+     * date is also bounded from below by {@code earliestStart}, {@code from} minus {@link Appointment#MAX_LENGTH}, so
+     * that the {@code start_date} indexes serve it as a range scan.
+     */
+    String OVERLAP_CONDITION =
+        "appointment.startDate >= :earliestStart AND appointment.startDate < :to " +
+        "AND (appointment.endDate > :from OR appointment.startDate >= :from) ";
+
+    @Query(SUMMARY_QUERY + "WHERE manager.id = :managerId ORDER BY appointment.startDate, appointment.id")
+    List<AppointmentSummary> findSummariesByManager(@Param("managerId") Long managerId);
+
+    @Query(SUMMARY_QUERY + "WHERE advisor.id = :advisorId ORDER BY appointment.startDate, appointment.id")
+    List<AppointmentSummary> findSummariesByAdvisor(@Param("advisorId") Long advisorId);
+
+    /**
+     * Appointments of a manager overlapping {@code [from, to)}, served by the {@code (manager_id, start_date)} index.
+     */
+    default List<AppointmentSummary> findSummariesByManagerInRange(Long managerId, Instant from, Instant to) {
+        return findSummariesByManagerInRange(managerId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @Query(SUMMARY_QUERY + "WHERE manager.id = :managerId AND " + OVERLAP_CONDITION + "ORDER BY appointment.startDate, appointment.id")
+    List<AppointmentSummary> findSummariesByManagerInRange(
+        @Param("managerId") Long managerId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    /**
+     * Appointments of an advisor overlapping {@code [from, to)}, served by the {@code (advisor_id, start_date)} index.
+     */
+    default List<AppointmentSummary> findSummariesByAdvisorInRange(Long advisorId, Instant from, Instant to) {
+        return findSummariesByAdvisorInRange(advisorId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @Query(SUMMARY_QUERY + "WHERE advisor.id = :advisorId AND " + OVERLAP_CONDITION + "ORDER BY appointment.startDate, appointment.id")
+    List<AppointmentSummary> findSummariesByAdvisorInRange(
+        @Param("advisorId") Long advisorId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    @Query(SUMMARY_STAMP_QUERY + "WHERE manager.id = :managerId")
+    ModificationStamp findSummaryStampByManager(@Param("managerId") Long managerId);
+
+    @Query(SUMMARY_STAMP_QUERY + "WHERE advisor.id = :advisorId")
+    ModificationStamp findSummaryStampByAdvisor(@Param("advisorId") Long advisorId);
+
+    default ModificationStamp findSummaryStampByManagerInRange(Long managerId, Instant from, Instant to) {
+        return findSummaryStampByManagerInRange(managerId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @Query(SUMMARY_STAMP_QUERY + "WHERE manager.id = :managerId AND " + OVERLAP_CONDITION)
+    ModificationStamp findSummaryStampByManagerInRange(
+        @Param("managerId") Long managerId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    default ModificationStamp findSummaryStampByAdvisorInRange(Long advisorId, Instant from, Instant to) {
+        return findSummaryStampByAdvisorInRange(advisorId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @Query(SUMMARY_STAMP_QUERY + "WHERE advisor.id = :advisorId AND " + OVERLAP_CONDITION)
+    ModificationStamp findSummaryStampByAdvisorInRange(
+        @Param("advisorId") Long advisorId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    /**
+     * Validator of the "id" appointment, read without loading it.
+     */
+    @Query("SELECT appointment.lastModifiedDate AS lastModifiedDate FROM Appointment appointment WHERE appointment.id = :id")
+    Optional<ModificationStamp> findModificationStampById(@Param("id") Long id);
+
+    /**
+     * Appointments overlapping {@code [from, to)}, streamed from a forward-only cursor for exports.
+     */
+    default Stream<AppointmentSummary> streamSummaries(Instant from, Instant to) {
+        return streamSummaries(from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SUMMARY_QUERY + "WHERE " + OVERLAP_CONDITION + "ORDER BY appointment.startDate, appointment.id")
+    Stream<AppointmentSummary> streamSummaries(
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    default Stream<AppointmentSummary> streamSummariesByManager(Long managerId, Instant from, Instant to) {
+        return streamSummariesByManager(managerId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SUMMARY_QUERY + "WHERE manager.id = :managerId AND " + OVERLAP_CONDITION + "ORDER BY appointment.startDate, appointment.id")
+    Stream<AppointmentSummary> streamSummariesByManager(
+        @Param("managerId") Long managerId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    default Stream<AppointmentSummary> streamSummariesByAdvisor(Long advisorId, Instant from, Instant to) {
+        return streamSummariesByAdvisor(advisorId, from.minus(Appointment.MAX_LENGTH), from, to);
+    }
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SUMMARY_QUERY + "WHERE advisor.id = :advisorId AND " + OVERLAP_CONDITION + "ORDER BY appointment.startDate, appointment.id")
+    Stream<AppointmentSummary> streamSummariesByAdvisor(
+        @Param("advisorId") Long advisorId,
+        @Param("earliestStart") Instant earliestStart,
+        @Param("from") Instant from,
+        @Param("to") Instant to
+    );
+
+    /**
+     * First page of the keyset pagination, ordered by the {@code (start_date, id)} seek key.
+     */
+    @Query("SELECT appointment FROM Appointment appointment ORDER BY appointment.startDate, appointment.id")
+    List<Appointment> findFirstPageOrderByStartDate(Pageable pageable);
+
+    /**
+     * Next page of the keyset pagination: the appointments strictly after the given {@code (startDate, id)} key.
+     */
+    @Query(
+        "SELECT appointment FROM Appointment appointment WHERE appointment.startDate > :startDate " +
+        "OR (appointment.startDate = :startDate AND appointment.id > :id) ORDER BY appointment.startDate, appointment.id"
+    )
+    List<Appointment> findPageAfterOrderByStartDate(@Param("startDate") Instant startDate, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Spans of the appointments of an advisor overlapping {@code [from, to)} and still holding their slot, i.e. whose
+     * status is not in {@code released}.
+     */
+    @Query(
+        "SELECT appointment.id AS id, appointment.startDate AS startDate, appointment.endDate AS endDate " +
+        "FROM Appointment appointment WHERE appointment.advisor.id = :advisorId " +
+        "AND appointment.startDate < :to AND appointment.endDate > :from " +
+        "AND (appointment.status IS NULL OR appointment.status NOT IN :released)"
+    )
+    List<AppointmentSpan> findSpansByAdvisor(
+        @Param("advisorId") Long advisorId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("released") Collection<Status> released
+    );
+
+    @Query(
+        "SELECT count(appointment) FROM Appointment appointment WHERE appointment.advisor.id = :advisorId " +
+        "AND appointment.id <> :id AND appointment.startDate < :end AND appointment.endDate > :start " +
+        "AND (appointment.status IS NULL OR appointment.status NOT IN :released)"
+    )
+    long countOverlappingByAdvisor(
+        @Param("advisorId") Long advisorId,
+        @Param("id") Long id,
+        @Param("start") Instant start,
+        @Param("end") Instant end,
+        @Param("released") Collection<Status> released
+    );
+
+    @Query(
+        "SELECT count(appointment) FROM Appointment appointment WHERE appointment.manager.id = :managerId " +
+        "AND appointment.id <> :id AND appointment.startDate < :end AND appointment.endDate > :start " +
+        "AND (appointment.status IS NULL OR appointment.status NOT IN :released)"
+    )
+    long countOverlappingByManager(
+        @Param("managerId") Long managerId,
+        @Param("id") Long id,
+        @Param("start") Instant start,
+        @Param("end") Instant end,
+        @Param("released") Collection<Status> released
+    );
+
+    /**
+     * Spans of the appointments of all the advisors of an agency overlapping {@code [from, to)} and still holding
+     * their slot, ordered by advisor and start date.
+     */
+    @Query(
+        "SELECT appointment.advisor.id AS advisorId, appointment.startDate AS startDate, appointment.endDate AS endDate " +
+        "FROM Appointment appointment WHERE appointment.advisor.agency.id = :agencyId " +
+        "AND appointment.startDate < :to AND appointment.endDate > :from " +
+        "AND (appointment.status IS NULL OR appointment.status NOT IN :released) " +
+        "ORDER BY appointment.advisor.id, appointment.startDate"
+    )
+    List<AdvisorAppointmentSpan> findSpansByAgency(
+        @Param("agencyId") Long agencyId,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("released") Collection<Status> released
+    );
+
+    /**
+     * Spans of the given appointments, with the agency of their advisor.
+     */
+    @Query(
+        "SELECT agency.id AS agencyId, appointment.startDate AS startDate, appointment.endDate AS endDate " +
+        "FROM Appointment appointment JOIN appointment.advisor advisor JOIN advisor.agency agency WHERE appointment.id IN :ids"
+    )
+    List<AgencyAppointmentSpan> findAgencySpansByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Advisors and days of the given appointments.
+     */
+    @Query(
+        "SELECT DISTINCT appointment.advisor.id AS advisorId, appointment.appointementDate AS day " +
+        "FROM Appointment appointment WHERE appointment.id IN :ids"
+    )
+    List<AdvisorDay> findAdvisorDaysByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load the given appointments and lock their rows until the end of the transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT appointment FROM Appointment appointment WHERE appointment.id IN :ids")
+    List<Appointment> findAllWithLockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of the given appointments in a single statement.
+     * <p>
+     * As any bulk update, it invalidates the second-level cache region of {@link Appointment} once, and it clears
+     * the persistence context. It sets the last modification date, which entity callbacks do not see.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE Appointment appointment SET appointment.status = :status, appointment.statusChangeDate = :changedAt, " +
+        "appointment.lastModifiedDate = :changedAt WHERE appointment.id IN :ids"
+    )
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") Status status, @Param("changedAt") Instant changedAt);
 }
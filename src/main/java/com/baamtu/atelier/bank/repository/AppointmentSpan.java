@@ -0,0 +1,14 @@
+package com.baamtu.atelier.bank.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of the {@code [startDate, endDate)} span of an {@link com.baamtu.atelier.bank.domain.Appointment}.
+ */
+public interface AppointmentSpan {
+    Long getId();
+
+    Instant getStartDate();
+
+    Instant getEndDate();
+}
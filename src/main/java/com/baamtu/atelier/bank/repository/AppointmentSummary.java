@@ -0,0 +1,51 @@
+package com.baamtu.atelier.bank.repository;
+
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Projection of an {@link com.baamtu.atelier.bank.domain.Appointment}, flattened with the names of its manager and
+ * advisor and with the agency of the advisor.
+ */
+public interface AppointmentSummary {
+    Long getId();
+
+    Instant getCreated();
+
+    LocalDate getAppointementDate();
+
+    Instant getStartDate();
+
+    Instant getEndDate();
+
+    String getTitle();
+
+    String getDescription();
+
+    Status getStatus();
+
+    Instant getStatusChangeDate();
+
+    String getCommentary();
+
+    Long getManagerId();
+
+    String getManagerLogin();
+
+    String getManagerFirstName();
+
+    String getManagerLastName();
+
+    Long getAdvisorId();
+
+    String getAdvisorLogin();
+
+    String getAdvisorFirstName();
+
+    String getAdvisorLastName();
+
+    Long getAgencyId();
+
+    String getAgencyName();
+}
@@ -1,7 +1,9 @@
 package com.baamtu.atelier.bank.repository;
 
 import com.baamtu.atelier.bank.domain.Enterprise;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EnterpriseRepository extends JpaRepository<Enterprise, Long> {}
+public interface EnterpriseRepository extends JpaRepository<Enterprise, Long> {
+    /**
+     * Validator of the "id" enterprise, read without loading it.
+     */
+    @Query("select enterprise.lastModifiedDate as lastModifiedDate from Enterprise enterprise where enterprise.id = :id")
+    Optional<ModificationStamp> findModificationStampById(@Param("id") Long id);
+}
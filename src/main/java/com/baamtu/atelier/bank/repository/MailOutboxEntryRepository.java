@@ -0,0 +1,37 @@
+package com.baamtu.atelier.bank.repository;
+
+import com.baamtu.atelier.bank.domain.MailOutboxEntry;
+import java.time.Instant;
+import java.util.List;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the MailOutboxEntry entity.
+ */
+@Repository
+public interface MailOutboxEntryRepository extends JpaRepository<MailOutboxEntry, Long> {
+    /**
+     * The oldest emails due for an attempt, locked until the end of the transaction.
+     * <p>
+     * Rows already locked by another instance are skipped where the database supports it, so that several instances
+     * drain the outbox without sending an email twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select entry from MailOutboxEntry entry " +
+        "where entry.sentDate is null and entry.attempts < :maxAttempts and entry.nextAttemptDate <= :now " +
+        "order by entry.id"
+    )
+    List<MailOutboxEntry> findDueForUpdate(@Param("now") Instant now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    long countBySentDateIsNullAndAttemptsLessThan(int maxAttempts);
+
+    @Query("select min(entry.createdDate) from MailOutboxEntry entry where entry.sentDate is null and entry.attempts < :maxAttempts")
+    Instant findOldestPendingCreatedDate(@Param("maxAttempts") int maxAttempts);
+}
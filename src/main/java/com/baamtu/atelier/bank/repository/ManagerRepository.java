@@ -1,7 +1,12 @@
 package com.baamtu.atelier.bank.repository;
 
 import com.baamtu.atelier.bank.domain.Manager;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,6 +15,39 @@ import org.springframework.stereotype.Repository;
 @SuppressWarnings("unused")
 @Repository
 public interface ManagerRepository extends JpaRepository<Manager, Long> {
-    @Query("select manager from Manager manager where manager.user.login = ?#{principal.username}")
-    Manager findByUserIsCurrentUser();
+    /**
+     * The manager of a user, with its user; cached as a profile by {@code ProfileCache}.
+     */
+    @EntityGraph(attributePaths = "user")
+    Optional<Manager> findOneByUserLogin(String login);
+
+    /**
+     * Validator of the "id" manager, which shows the login of its user, read without loading it.
+     */
+    @Query(
+        "select manager.lastModifiedDate as lastModifiedDate, managerUser.lastModifiedDate as managerUserLastModifiedDate " +
+        "from Manager manager join manager.user managerUser where manager.id = :id"
+    )
+    Optional<ModificationStamp> findModificationStampById(@Param("id") Long id);
+
+    /**
+     * Validator of the list of all the managers.
+     */
+    @Query(
+        "select count(manager) as entityCount, max(manager.lastModifiedDate) as lastModifiedDate, " +
+        "max(managerUser.lastModifiedDate) as managerUserLastModifiedDate from Manager manager join manager.user managerUser"
+    )
+    ModificationStamp findModificationStamp();
+
+    /**
+     * Ids, among the given ones, of the existing managers.
+     */
+    @Query("select manager.id from Manager manager where manager.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load the manager and lock its row until the end of the transaction, to serialize the bookings of its appointments.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Manager> findWithLockById(Long id);
 }
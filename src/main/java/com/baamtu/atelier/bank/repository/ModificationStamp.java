@@ -0,0 +1,34 @@
+package com.baamtu.atelier.bank.repository;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Projection of the validator of a REST representation: the number of entities it shows, and the last modification
+ * dates of these entities and of the related ones it shows.
+ * <p>
+ * Queries select the aliases they know of, the other getters return {@code null}.
+ */
+public interface ModificationStamp {
+    Long getEntityCount();
+
+    Instant getLastModifiedDate();
+
+    Instant getManagerUserLastModifiedDate();
+
+    Instant getAdvisorUserLastModifiedDate();
+
+    Instant getAgencyLastModifiedDate();
+
+    /**
+     * @return the latest of the modification dates, or empty if none is known.
+     */
+    default Optional<Instant> getLatestModifiedDate() {
+        return Stream
+            .of(getLastModifiedDate(), getManagerUserLastModifiedDate(), getAdvisorUserLastModifiedDate(), getAgencyLastModifiedDate())
+            .filter(Objects::nonNull)
+            .max(Instant::compareTo);
+    }
+}
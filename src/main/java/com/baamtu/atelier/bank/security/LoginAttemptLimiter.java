@@ -0,0 +1,151 @@
+package com.baamtu.atelier.bank.security;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Throttles login attempts, by login from one client IP, by login from any IP and by client IP, over a sliding window.
+ * <p>
+ * Every attempt is counted before the credentials are checked, so that concurrent attempts cannot exceed the limits;
+ * a successful attempt is then forgiven and clears the failures of its login from its IP. A login is first locked out
+ * from the IPs which failed on it; the higher limit per login from any IP only stops attempts spread over many IPs.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private static final String METRIC_PREFIX = "login.throttle";
+
+    private final Logger log = LoggerFactory.getLogger(LoginAttemptLimiter.class);
+
+    private final Clock clock;
+
+    private final SlidingWindowCounter byLoginAndIp;
+
+    private final SlidingWindowCounter byLogin;
+
+    private final SlidingWindowCounter byIp;
+
+    private final Counter failures;
+
+    private final Counter rejectedByLogin;
+
+    private final Counter rejectedByAccount;
+
+    private final Counter rejectedByIp;
+
+    @Autowired
+    public LoginAttemptLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this(applicationProperties, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginAttemptLimiter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, Clock clock) {
+        ApplicationProperties.LoginThrottle properties = applicationProperties.getLoginThrottle();
+        long windowMillis = properties.getWindow().toMillis();
+        this.clock = clock;
+        this.byLoginAndIp = new SlidingWindowCounter(properties.getMaxAttemptsPerLogin(), windowMillis);
+        this.byLogin = new SlidingWindowCounter(properties.getMaxAttemptsPerAccount(), windowMillis);
+        this.byIp = new SlidingWindowCounter(properties.getMaxAttemptsPerIp(), windowMillis);
+        this.failures = Counter.builder(METRIC_PREFIX + ".failures").description("Failed login attempts").register(meterRegistry);
+        this.rejectedByLogin =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Login attempts rejected before checking the credentials")
+                .tag("key", "login")
+                .register(meterRegistry);
+        this.rejectedByAccount =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Login attempts rejected before checking the credentials")
+                .tag("key", "account")
+                .register(meterRegistry);
+        this.rejectedByIp =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Login attempts rejected before checking the credentials")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", byLoginAndIp, SlidingWindowCounter::size).tag("key", "login").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", byLogin, SlidingWindowCounter::size).tag("key", "account").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", byIp, SlidingWindowCounter::size).tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Count a login attempt.
+     *
+     * @param login the login or email sent by the client.
+     * @param ip the IP of the client.
+     * @throws LoginThrottledException if the login from this IP, the login, or the IP, has too many recent failed attempts.
+     */
+    public void acquire(String login, String ip) {
+        long now = clock.millis();
+        String loginKey = key(login, ip);
+        long retryAfter = byLoginAndIp.tryAcquire(loginKey, now);
+        if (retryAfter > 0) {
+            rejectedByLogin.increment();
+            log.debug("Throttled login attempt for {} from {}", normalize(login), ip);
+            throw new LoginThrottledException(toSeconds(retryAfter));
+        }
+        String account = normalize(login);
+        retryAfter = byLogin.tryAcquire(account, now);
+        if (retryAfter > 0) {
+            byLoginAndIp.release(loginKey);
+            rejectedByAccount.increment();
+            log.debug("Throttled login attempt for {} from any IP", account);
+            throw new LoginThrottledException(toSeconds(retryAfter));
+        }
+        retryAfter = byIp.tryAcquire(ip, now);
+        if (retryAfter > 0) {
+            byLoginAndIp.release(loginKey);
+            byLogin.release(account);
+            rejectedByIp.increment();
+            log.debug("Throttled login attempt from {}", ip);
+            throw new LoginThrottledException(toSeconds(retryAfter));
+        }
+    }
+
+    /**
+     * Forgive a counted attempt which succeeded.
+     */
+    public void succeeded(String login, String ip) {
+        byLoginAndIp.reset(key(login, ip));
+        byLogin.release(normalize(login));
+        byIp.release(ip);
+    }
+
+    /**
+     * Keep a counted attempt which failed.
+     */
+    public void failed(String login, String ip) {
+        failures.increment();
+        log.debug("Failed login attempt for {} from {}", normalize(login), ip);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purge() {
+        long now = clock.millis();
+        byLoginAndIp.purge(now);
+        byLogin.purge(now);
+        byIp.purge(now);
+    }
+
+    private static String key(String login, String ip) {
+        return ip + " " + normalize(login);
+    }
+
+    private static String normalize(String login) {
+        return login == null ? "" : login.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+}
@@ -0,0 +1,13 @@
+package com.baamtu.atelier.bank.security;
+
+/**
+ * Thrown when too many passwords are already waiting to be hashed or verified.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("Too many password hashing requests, please retry later");
+    }
+}
@@ -0,0 +1,151 @@
+package com.baamtu.atelier.bank.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt {@link PasswordEncoder} running the hashing work on a bounded pool of threads.
+ * <p>
+ * At most {@code poolSize} passwords are hashed at a time, whatever the number of concurrent logins, so bursts
+ * cannot take all the CPU away from the other requests. Callers wait for their turn, up to {@code waitTimeout}; when
+ * {@code queueCapacity} callers are already waiting, or the timeout expires, a {@link PasswordHashingRejectedException}
+ * is thrown instead.
+ * <p>
+ * Hashes made with another cost than the configured one are reported by {@link #upgradeEncoding(String)}, so that
+ * they are re-hashed on the next successful login.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String METRIC_PREFIX = "password.hashing";
+
+    private final int strength;
+
+    private final BCryptPasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long waitTimeoutMillis;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejected;
+
+    public PooledPasswordEncoder(int strength, int poolSize, int queueCapacity, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.strength = strength;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor =
+            new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new HashingThread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+            );
+        this.encodeTimer =
+            Timer.builder(METRIC_PREFIX).description("Time spent hashing passwords").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer =
+            Timer.builder(METRIC_PREFIX).description("Time spent verifying passwords").tag("operation", "matches").register(meterRegistry);
+        this.rejected =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing requests rejected because too many were waiting, or they waited too long")
+                .register(meterRegistry);
+        Gauge
+            .builder(METRIC_PREFIX + ".queue", executor, pool -> pool.getQueue().size())
+            .description("Hashing requests waiting for a thread")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$..., the cost being the two digits after the version.
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart == 0 || encodedPassword.length() < costStart + 2) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Supplier<T> task, Timer timer) {
+        if (Thread.currentThread() instanceof HashingThread) {
+            return timer.record(task);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingRejectedException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class HashingThread extends Thread {
+
+        HashingThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.baamtu.atelier.bank.security;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Counts events per key over a sliding window, refusing them past a limit.
+ * <p>
+ * Keys are spread over lock stripes, so that concurrent attempts on different keys rarely contend. Each key keeps the
+ * timestamps of its counted events, at most {@code limit} of them.
+ */
+final class SlidingWindowCounter {
+
+    private static final int STRIPES = 64;
+
+    private final int limit;
+
+    private final long windowMillis;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    SlidingWindowCounter(int limit, long windowMillis) {
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Count an event for the key, unless the limit is reached.
+     *
+     * @param key the key.
+     * @param now the current time, in milliseconds.
+     * @return 0 if the event was counted, else the number of milliseconds before the oldest event leaves the window.
+     */
+    long tryAcquire(String key, long now) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Deque<Long> events = stripe.events.computeIfAbsent(key, k -> new ArrayDeque<>());
+            expire(events, now);
+            if (events.size() >= limit) {
+                return Math.max(1, events.peekFirst() + windowMillis - now);
+            }
+            events.addLast(now);
+            return 0;
+        }
+    }
+
+    /**
+     * Forget the most recent event of the key.
+     */
+    void release(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            Deque<Long> events = stripe.events.get(key);
+            if (events != null) {
+                events.pollLast();
+                if (events.isEmpty()) {
+                    stripe.events.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget all the events of the key.
+     */
+    void reset(String key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.events.remove(key);
+        }
+    }
+
+    /**
+     * Drop the keys whose events all left the window.
+     */
+    void purge(long now) {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Deque<Long>> iterator = stripe.events.values().iterator();
+                while (iterator.hasNext()) {
+                    Deque<Long> events = iterator.next();
+                    expire(events, now);
+                    if (events.isEmpty()) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of tracked keys.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.events.size();
+            }
+        }
+        return size;
+    }
+
+    private void expire(Deque<Long> events, long now) {
+        while (!events.isEmpty() && events.peekFirst() <= now - windowMillis) {
+            events.pollFirst();
+        }
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Deque<Long>> events = new HashMap<>();
+    }
+}
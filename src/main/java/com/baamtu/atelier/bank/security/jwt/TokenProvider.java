@@ -6,6 +6,8 @@ import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +27,11 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    /**
+     * Maximum number of verified tokens kept in memory; the cache is emptied when it is reached.
+     */
+    static final int VERIFIED_TOKENS_MAX_SIZE = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -33,6 +40,12 @@ public class TokenProvider {
 
     private final long tokenValidityInMillisecondsForRememberMe;
 
+    /**
+     * Tokens already verified, until they expire. They are keyed by the token itself: hashing it with a digest
+     * would cost about as much as the signature check this cache saves.
+     */
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
     public TokenProvider(JHipsterProperties jHipsterProperties) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -75,27 +88,77 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
+        return verify(token).toAuthentication(token);
+    }
+
+    public boolean validateToken(String authToken) {
+        return authenticate(authToken).isPresent();
+    }
+
+    /**
+     * Verify the token and build its authentication. The signature and the claims of a token are checked once, then
+     * served from memory until the token expires.
+     *
+     * @param authToken the JWT.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> authenticate(String authToken) {
+        try {
+            return Optional.of(verify(authToken).toAuthentication(authToken));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.info("Invalid JWT token.");
+            log.trace("Invalid JWT token trace.", e);
+        }
+        return Optional.empty();
+    }
+
+    private VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = token == null ? null : verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiration > now) {
+                return cached;
+            }
+            verifiedTokens.remove(token, cached);
+        }
+
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
             .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+            .collect(Collectors.toUnmodifiableList());
 
         User principal = new User(claims.getSubject(), "", authorities);
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(principal, expiration == null ? now : expiration.getTime());
+        if (expiration != null) {
+            if (verifiedTokens.size() >= VERIFIED_TOKENS_MAX_SIZE) {
+                verifiedTokens.clear();
+            }
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    int verifiedTokensSize() {
+        return verifiedTokens.size();
     }
 
-    public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.info("Invalid JWT token.");
-            log.trace("Invalid JWT token trace.", e);
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final long expiration;
+
+        VerifiedToken(User principal, long expiration) {
+            this.principal = principal;
+            this.expiration = expiration;
+        }
+
+        Authentication toAuthentication(String token) {
+            return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
         }
-        return false;
     }
 }
@@ -0,0 +1,321 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.repository.AdvisorAppointmentSpan;
+import com.baamtu.atelier.bank.repository.AgencyAppointmentSpan;
+import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.service.dto.AdvisorAvailabilityDTO;
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.TimeSlotDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service searching the free time slots of the advisors of an agency.
+ * <p>
+ * The busy spans of all the advisors of an agency are cached per UTC day. The days missing from the cache are loaded
+ * with a single range query, whatever the number of advisors, and the free slots are then computed in memory.
+ * Cached days are evicted once a change to one of their appointments is committed, and all of them when an advisor
+ * moves to another agency, at once and again when the transaction completes. Days loaded while an eviction happens
+ * are not cached, so that a load reading the appointments before a commit cannot cache them after its eviction.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AgencyAvailabilityService implements PostUpdateEventListener {
+
+    public static final String AGENCY_BUSY_SPANS_CACHE = "agencyBusySpans";
+
+    private static final Comparator<TimeSlotDTO> BY_START = Comparator.comparing(TimeSlotDTO::getStart);
+
+    private final Logger log = LoggerFactory.getLogger(AgencyAvailabilityService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AdvisorRepository advisorRepository;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Incremented on every eviction, so that days loaded while one happens are not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AgencyAvailabilityService(
+        AppointmentRepository appointmentRepository,
+        AdvisorRepository advisorRepository,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.advisorRepository = advisorRepository;
+        this.cacheManager = cacheManager;
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    /**
+     * Get the free slots, of at least the given duration, of every advisor of an agency during {@code [from, to)}.
+     *
+     * @param agencyId the id of the agency.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @param duration the minimum duration of a free slot.
+     * @return the free slots of each advisor, ordered by advisor id.
+     */
+    public List<AdvisorAvailabilityDTO> findAvailability(Long agencyId, Instant from, Instant to, Duration duration) {
+        log.debug("Request to get the availability of Agency {} during [{}, {})", agencyId, from, to);
+        List<Long> advisorIds = advisorRepository.findIdsByAgencyId(agencyId);
+        Map<Long, List<TimeSlotDTO>> busySpans = findBusySpans(agencyId, from, to);
+        List<AdvisorAvailabilityDTO> result = new ArrayList<>(advisorIds.size());
+        for (Long advisorId : advisorIds) {
+            List<TimeSlotDTO> spans = busySpans.getOrDefault(advisorId, List.of());
+            result.add(new AdvisorAvailabilityDTO(advisorId, freeSlots(spans, from, to, duration)));
+        }
+        return result;
+    }
+
+    /**
+     * Evict the cached days of the agencies whose appointments changed, once the change is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        evict(event.getPrevious());
+        evict(event.getCurrent());
+    }
+
+    /**
+     * Evict the cached days of the appointments written in bulk, or all of them if they are not known, once the
+     * change is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentsBulkChanged(AppointmentsBulkChangedEvent event) {
+        Cache cache = cacheManager.getCache(AGENCY_BUSY_SPANS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        Optional<Set<Long>> ids = event.getIds();
+        if (ids.isEmpty()) {
+            clear(cache);
+            return;
+        }
+        for (AgencyAppointmentSpan span : appointmentRepository.findAgencySpansByIds(ids.get())) {
+            evictDays(cache, span.getAgencyId(), span.getStartDate(), span.getEndDate());
+        }
+    }
+
+    /**
+     * Evict all the cached days when an advisor moves to another agency: the days of its new agency miss its
+     * appointments. The agencies are not known from their cached days, and advisors rarely move.
+     *
+     * @param event the update.
+     */
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Advisor) || !isAgencyChanged(event)) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(AGENCY_BUSY_SPANS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        clear(cache);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        clear(cache);
+                    }
+                }
+            );
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Compute the gaps of at least the given duration left free by busy spans within {@code [from, to)}.
+     *
+     * @param busySpans the busy spans, ordered by start date; they may overlap.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @param duration the minimum duration of a free slot.
+     * @return the free slots, ordered by start date.
+     */
+    static List<TimeSlotDTO> freeSlots(List<TimeSlotDTO> busySpans, Instant from, Instant to, Duration duration) {
+        List<TimeSlotDTO> result = new ArrayList<>();
+        Instant cursor = from;
+        for (TimeSlotDTO span : busySpans) {
+            if (!span.getStart().isBefore(to)) {
+                break;
+            }
+            if (span.getEnd().isAfter(cursor)) {
+                addIfLongEnough(result, cursor, span.getStart(), duration);
+                cursor = span.getEnd();
+            }
+        }
+        addIfLongEnough(result, cursor, to, duration);
+        return result;
+    }
+
+    private static void addIfLongEnough(List<TimeSlotDTO> slots, Instant start, Instant end, Duration duration) {
+        if (start.isBefore(end) && Duration.between(start, end).compareTo(duration) >= 0) {
+            slots.add(new TimeSlotDTO(start, end));
+        }
+    }
+
+    private Map<Long, List<TimeSlotDTO>> findBusySpans(Long agencyId, Instant from, Instant to) {
+        Cache cache = cacheManager.getCache(AGENCY_BUSY_SPANS_CACHE);
+        long evictionsBefore = evictions.get();
+        LocalDate firstDay = day(from);
+        LocalDate lastDay = day(to.minusNanos(1));
+        Map<LocalDate, Map<Long, List<TimeSlotDTO>>> days = new HashMap<>();
+        LocalDate firstMissingDay = null;
+        LocalDate lastMissingDay = null;
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            Map<Long, List<TimeSlotDTO>> cached = cache != null ? cache.get(key(agencyId, day), Map.class) : null;
+            if (cached != null) {
+                days.put(day, cached);
+            } else {
+                firstMissingDay = firstMissingDay == null ? day : firstMissingDay;
+                lastMissingDay = day;
+            }
+        }
+        if (firstMissingDay != null) {
+            loadDays(agencyId, firstMissingDay, lastMissingDay, days, cache, evictionsBefore);
+        }
+
+        // Spans crossing midnight belong to several days, the merge in freeSlots() ignores the duplicates
+        Map<Long, List<TimeSlotDTO>> result = new HashMap<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            days.get(day).forEach((advisorId, spans) -> result.computeIfAbsent(advisorId, id -> new ArrayList<>()).addAll(spans));
+        }
+        result.values().forEach(spans -> spans.sort(BY_START));
+        return result;
+    }
+
+    private void loadDays(
+        Long agencyId,
+        LocalDate firstDay,
+        LocalDate lastDay,
+        Map<LocalDate, Map<Long, List<TimeSlotDTO>>> days,
+        Cache cache,
+        long evictionsBefore
+    ) {
+        List<AdvisorAppointmentSpan> spans = appointmentRepository.findSpansByAgency(
+            agencyId,
+            startOf(firstDay),
+            startOf(lastDay.plusDays(1)),
+            AppointmentBookingService.RELEASED_STATUSES
+        );
+        log.debug("Loaded {} busy spans of Agency {} from {} to {}", spans.size(), agencyId, firstDay, lastDay);
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (days.containsKey(day)) {
+                continue;
+            }
+            Instant dayStart = startOf(day);
+            Instant dayEnd = startOf(day.plusDays(1));
+            HashMap<Long, List<TimeSlotDTO>> daySpans = new HashMap<>();
+            for (AdvisorAppointmentSpan span : spans) {
+                if (span.getStartDate().isBefore(dayEnd) && span.getEndDate().isAfter(dayStart)) {
+                    daySpans
+                        .computeIfAbsent(span.getAdvisorId(), id -> new ArrayList<>())
+                        .add(new TimeSlotDTO(span.getStartDate(), span.getEndDate()));
+                }
+            }
+            days.put(day, daySpans);
+            if (cache != null && evictions.get() == evictionsBefore) {
+                cache.put(key(agencyId, day), daySpans);
+            }
+        }
+    }
+
+    private void evict(AppointmentDTO appointment) {
+        Cache cache = cacheManager.getCache(AGENCY_BUSY_SPANS_CACHE);
+        if (cache == null || appointment == null || appointment.getAdvisor() == null) {
+            return;
+        }
+        advisorRepository
+            .findById(appointment.getAdvisor().getId())
+            .map(Advisor::getAgency)
+            .ifPresent(agency -> evictDays(cache, agency.getId(), appointment.getStartDate(), appointment.getEndDate()));
+    }
+
+    private void evictDays(Cache cache, Long agencyId, Instant start, Instant end) {
+        evictions.incrementAndGet();
+        LocalDate lastDay = day(end.isAfter(start) ? end.minusNanos(1) : start);
+        for (LocalDate day = day(start); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            cache.evict(key(agencyId, day));
+        }
+    }
+
+    private void clear(Cache cache) {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+
+    private static boolean isAgencyChanged(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            return true;
+        }
+        int agency = event.getPersister().getEntityMetamodel().getPropertyIndex("agency");
+        return !Objects.equals(agencyId(oldState[agency]), agencyId(event.getState()[agency]));
+    }
+
+    private static Long agencyId(Object agency) {
+        // getId() does not initialize a proxy
+        return agency != null ? ((Agency) agency).getId() : null;
+    }
+
+    private static String key(Long agencyId, LocalDate day) {
+        return agencyId + ":" + day;
+    }
+
+    private static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -0,0 +1,211 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.repository.AppointmentSpan;
+import com.baamtu.atelier.bank.repository.ManagerRepository;
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.TimeSlotDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service booking {@link Appointment}s without double-booking advisors and managers.
+ * <p>
+ * A booking is checked against the database, with a count of the overlapping appointments made while holding a lock
+ * on the advisor and manager rows. Free slot lookups load the spans of a bounded window into an
+ * {@link AppointmentIntervalIndex}, so that nothing is kept between requests.
+ * <p>
+ * Every change is published as an {@link AppointmentChangedEvent}.
+ */
+@Service
+@Transactional
+public class AppointmentBookingService {
+
+    /**
+     * Statuses of the appointments which no longer hold their time slot.
+     */
+    public static final Set<Status> RELEASED_STATUSES = Collections.unmodifiableSet(EnumSet.of(Status.REJECTED, Status.CANCELLED));
+
+    /**
+     * How far free slot lookups search, so that each costs a single bounded query.
+     */
+    public static final Duration MAX_SEARCH_HORIZON = Duration.ofDays(28);
+
+    private static final long NO_ID = -1L;
+
+    private static final String ADVISOR = "advisor";
+
+    private static final String MANAGER = "manager";
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentBookingService.class);
+
+    private final AppointmentService appointmentService;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AdvisorRepository advisorRepository;
+
+    private final ManagerRepository managerRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AppointmentBookingService(
+        AppointmentService appointmentService,
+        AppointmentRepository appointmentRepository,
+        AdvisorRepository advisorRepository,
+        ManagerRepository managerRepository,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.appointmentService = appointmentService;
+        this.appointmentRepository = appointmentRepository;
+        this.advisorRepository = advisorRepository;
+        this.managerRepository = managerRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Save an appointment, unless it overlaps another appointment of its advisor or manager.
+     *
+     * @param appointmentDTO the entity to save.
+     * @return the persisted entity.
+     * @throws AppointmentConflictException if the time slot is already taken.
+     * @throws AppointmentTooLongException if the appointment lasts more than {@link Appointment#MAX_LENGTH}.
+     */
+    public AppointmentDTO save(AppointmentDTO appointmentDTO) {
+        checkSlot(
+            appointmentDTO.getId(),
+            appointmentDTO.getStartDate(),
+            appointmentDTO.getEndDate(),
+            appointmentDTO.getStatus(),
+            appointmentDTO.getAdvisor().getId(),
+            appointmentDTO.getManager().getId()
+        );
+        AppointmentDTO previous = appointmentDTO.getId() != null ? appointmentService.findOne(appointmentDTO.getId()).orElse(null) : null;
+        AppointmentDTO result = appointmentService.save(appointmentDTO);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(previous, result));
+        return result;
+    }
+
+    /**
+     * Partially update an appointment, unless it then overlaps another appointment of its advisor or manager.
+     *
+     * @param appointmentDTO the entity to update partially.
+     * @return the persisted entity.
+     * @throws AppointmentConflictException if the time slot is already taken.
+     * @throws AppointmentTooLongException if the appointment lasts more than {@link Appointment#MAX_LENGTH}.
+     */
+    public Optional<AppointmentDTO> partialUpdate(AppointmentDTO appointmentDTO) {
+        Optional<AppointmentDTO> existing = appointmentService.findOne(appointmentDTO.getId());
+        if (existing.isEmpty()) {
+            return existing;
+        }
+        // The fields left null by the partial update keep their current value
+        AppointmentDTO current = existing.get();
+        checkSlot(
+            current.getId(),
+            Optional.ofNullable(appointmentDTO.getStartDate()).orElse(current.getStartDate()),
+            Optional.ofNullable(appointmentDTO.getEndDate()).orElse(current.getEndDate()),
+            Optional.ofNullable(appointmentDTO.getStatus()).orElse(current.getStatus()),
+            Optional.ofNullable(appointmentDTO.getAdvisor()).orElse(current.getAdvisor()).getId(),
+            Optional.ofNullable(appointmentDTO.getManager()).orElse(current.getManager()).getId()
+        );
+        Optional<AppointmentDTO> result = appointmentService.partialUpdate(appointmentDTO);
+        result.ifPresent(updated -> eventPublisher.publishEvent(new AppointmentChangedEvent(current, updated)));
+        return result;
+    }
+
+    /**
+     * Delete an appointment and release its time slot.
+     *
+     * @param id the id of the entity.
+     */
+    public void delete(Long id) {
+        Optional<AppointmentDTO> previous = appointmentService.findOne(id);
+        appointmentService.delete(id);
+        previous.ifPresent(appointment -> eventPublisher.publishEvent(new AppointmentChangedEvent(appointment, null)));
+    }
+
+    /**
+     * Check whether an advisor is free during {@code [start, end)}.
+     *
+     * @param advisorId the id of the advisor.
+     * @param start the inclusive start of the time slot.
+     * @param end the exclusive end of the time slot.
+     * @return {@code true} if no appointment of the advisor overlaps the time slot.
+     */
+    @Transactional(readOnly = true)
+    public boolean isAdvisorAvailable(Long advisorId, Instant start, Instant end) {
+        if (!start.isBefore(end)) {
+            return true;
+        }
+        return appointmentRepository.countOverlappingByAdvisor(advisorId, NO_ID, start, end, RELEASED_STATUSES) == 0;
+    }
+
+    /**
+     * Find the first free slot of an advisor, ending within {@link #MAX_SEARCH_HORIZON} of {@code from}.
+     *
+     * @param advisorId the id of the advisor.
+     * @param from the earliest acceptable start of the slot.
+     * @param duration the duration of the slot, at most {@link #MAX_SEARCH_HORIZON}.
+     * @return the first free slot, or empty if the advisor is booked until the horizon.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TimeSlotDTO> findNextFreeSlot(Long advisorId, Instant from, Duration duration) {
+        Instant horizon = from.plus(MAX_SEARCH_HORIZON);
+        AppointmentIntervalIndex index = new AppointmentIntervalIndex();
+        for (AppointmentSpan span : appointmentRepository.findSpansByAdvisor(advisorId, from, horizon, RELEASED_STATUSES)) {
+            index.put(span.getId(), span.getStartDate(), span.getEndDate());
+        }
+        Instant slot = index.nextFreeSlot(from, duration);
+        if (slot.plus(duration).isAfter(horizon)) {
+            log.debug("Advisor {} has no free slot of {} between {} and {}", advisorId, duration, from, horizon);
+            return Optional.empty();
+        }
+        return Optional.of(new TimeSlotDTO(slot, slot.plus(duration)));
+    }
+
+    private void checkSlot(Long id, Instant start, Instant end, Status status, Long advisorId, Long managerId) {
+        // The range listings rely on this bound, whatever the status
+        if (Duration.between(start, end).compareTo(Appointment.MAX_LENGTH) > 0) {
+            throw new AppointmentTooLongException();
+        }
+        // Empty spans never conflict, and a new appointment has no id to exclude from the checks
+        if (holdsSlot(status) && start.isBefore(end)) {
+            long excludedId = id != null ? id : NO_ID;
+            checkAdvisor(advisorId, excludedId, start, end);
+            checkManager(managerId, excludedId, start, end);
+        }
+    }
+
+    private static boolean holdsSlot(Status status) {
+        return status == null || !RELEASED_STATUSES.contains(status);
+    }
+
+    private void checkAdvisor(Long advisorId, Long id, Instant start, Instant end) {
+        advisorRepository.findWithLockById(advisorId);
+        if (appointmentRepository.countOverlappingByAdvisor(advisorId, id, start, end, RELEASED_STATUSES) > 0) {
+            log.debug("Advisor {} is already booked during [{}, {})", advisorId, start, end);
+            throw new AppointmentConflictException(ADVISOR);
+        }
+    }
+
+    private void checkManager(Long managerId, Long id, Instant start, Instant end) {
+        managerRepository.findWithLockById(managerId);
+        if (appointmentRepository.countOverlappingByManager(managerId, id, start, end, RELEASED_STATUSES) > 0) {
+            log.debug("Manager {} is already booked during [{}, {})", managerId, start, end);
+            throw new AppointmentConflictException(MANAGER);
+        }
+    }
+}
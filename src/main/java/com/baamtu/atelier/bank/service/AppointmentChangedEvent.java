@@ -0,0 +1,41 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+
+/**
+ * Event published by {@link AppointmentBookingService} when an appointment is created, updated or deleted.
+ */
+public class AppointmentChangedEvent {
+
+    private final AppointmentDTO previous;
+
+    private final AppointmentDTO current;
+
+    public AppointmentChangedEvent(AppointmentDTO previous, AppointmentDTO current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    /**
+     * @return the appointment before the change, or {@code null} if it was created.
+     */
+    public AppointmentDTO getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return the appointment after the change, or {@code null} if it was deleted.
+     */
+    public AppointmentDTO getCurrent() {
+        return current;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentChangedEvent{" +
+            "previous=" + previous +
+            ", current=" + current +
+            "}";
+    }
+}
@@ -0,0 +1,10 @@
+package com.baamtu.atelier.bank.service;
+
+public class AppointmentConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AppointmentConflictException(String owner) {
+        super("The " + owner + " already has an appointment during this time slot");
+    }
+}
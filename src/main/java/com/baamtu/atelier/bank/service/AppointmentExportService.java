@@ -0,0 +1,195 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.repository.AppointmentSummary;
+import com.baamtu.atelier.bank.service.dto.AppointmentSummaryDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting {@link com.baamtu.atelier.bank.domain.Appointment}s for reporting.
+ * <p>
+ * Rows are read from a forward-only cursor as {@link AppointmentSummary} projections, which are not managed by the
+ * persistence context, and written out one by one as {@link AppointmentSummaryDTO}s, so memory stays flat whatever
+ * the number of exported rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AppointmentExportService {
+
+    /**
+     * Supported export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String[] CSV_HEADER = {
+        "id",
+        "created",
+        "appointementDate",
+        "startDate",
+        "endDate",
+        "title",
+        "description",
+        "status",
+        "statusChangeDate",
+        "commentary",
+        "managerId",
+        "managerLogin",
+        "managerFirstName",
+        "managerLastName",
+        "advisorId",
+        "advisorLogin",
+        "advisorFirstName",
+        "advisorLastName",
+        "agencyId",
+        "agencyName",
+    };
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentExportService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public AppointmentExportService(AppointmentRepository appointmentRepository, ObjectMapper objectMapper) {
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Export the appointments overlapping {@code [from, to)}, optionally restricted to one advisor or one manager.
+     *
+     * @param format the export format.
+     * @param advisorId the id of the advisor, or {@code null}.
+     * @param managerId the id of the manager, or {@code null}.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @param out the stream to write to; it is flushed but not closed.
+     * @throws IOException if writing fails.
+     */
+    public void export(Format format, Long advisorId, Long managerId, Instant from, Instant to, OutputStream out) throws IOException {
+        log.debug("Request to export Appointments as {} : {}, {}, {}, {}", format, advisorId, managerId, from, to);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count;
+        try (Stream<AppointmentSummaryDTO> appointments = stream(advisorId, managerId, from, to).map(AppointmentSummaryDTO::new)) {
+            count = format == Format.CSV ? writeCsv(appointments.iterator(), writer) : writeNdjson(appointments.iterator(), writer);
+        }
+        writer.flush();
+        log.debug("Exported {} Appointments", count);
+    }
+
+    private Stream<AppointmentSummary> stream(Long advisorId, Long managerId, Instant from, Instant to) {
+        if (advisorId != null) {
+            return appointmentRepository.streamSummariesByAdvisor(advisorId, from, to);
+        }
+        if (managerId != null) {
+            return appointmentRepository.streamSummariesByManager(managerId, from, to);
+        }
+        return appointmentRepository.streamSummaries(from, to);
+    }
+
+    private long writeNdjson(Iterator<AppointmentSummaryDTO> appointments, Writer writer) throws IOException {
+        long count = 0;
+        // The sequence writer must not close the underlying writer, which the caller owns
+        SequenceWriter sequenceWriter = objectMapper
+            .writerFor(AppointmentSummaryDTO.class)
+            .withRootValueSeparator("\n")
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writeValues(writer);
+        while (appointments.hasNext()) {
+            sequenceWriter.write(appointments.next());
+            count++;
+        }
+        sequenceWriter.close();
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<AppointmentSummaryDTO> appointments, Writer writer) throws IOException {
+        writeCsvLine(writer, (Object[]) CSV_HEADER);
+        long count = 0;
+        while (appointments.hasNext()) {
+            AppointmentSummaryDTO appointment = appointments.next();
+            writeCsvLine(
+                writer,
+                appointment.getId(),
+                appointment.getCreated(),
+                appointment.getAppointementDate(),
+                appointment.getStartDate(),
+                appointment.getEndDate(),
+                appointment.getTitle(),
+                appointment.getDescription(),
+                appointment.getStatus(),
+                appointment.getStatusChangeDate(),
+                appointment.getCommentary(),
+                appointment.getManagerId(),
+                appointment.getManagerLogin(),
+                appointment.getManagerFirstName(),
+                appointment.getManagerLastName(),
+                appointment.getAdvisorId(),
+                appointment.getAdvisorLogin(),
+                appointment.getAdvisorFirstName(),
+                appointment.getAdvisorLastName(),
+                appointment.getAgencyId(),
+                appointment.getAgencyName()
+            );
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,275 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.repository.ManagerRepository;
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.AppointmentImportResultDTO;
+import com.baamtu.atelier.bank.service.dto.ImportErrorDTO;
+import com.baamtu.atelier.bank.service.mapper.AppointmentMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Appointment}s in bulk, typically historical appointments of a new agency.
+ * <p>
+ * The JSON array is read one row at a time. Rows are validated and inserted in chunks, each chunk in its own
+ * transaction: the persistence context is flushed and cleared every {@code hibernate.jdbc.batch_size} rows, so that
+ * the inserts are sent as JDBC batches, and memory does not grow with the size of the import. Ids come from the
+ * pooled {@code sequenceGenerator}, which reserves a block of ids per {@code nextval}. Invalid rows are reported and
+ * skipped; a chunk rejected by the database is rolled back and all its rows are reported.
+ * <p>
+ * Imported appointments are historical, so they are not checked for overlaps like bookings are.
+ */
+@Service
+public class AppointmentImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentImportService.class);
+
+    private final AdvisorRepository advisorRepository;
+
+    private final ManagerRepository managerRepository;
+
+    private final AppointmentMapper appointmentMapper;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    public AppointmentImportService(
+        AdvisorRepository advisorRepository,
+        ManagerRepository managerRepository,
+        AppointmentMapper appointmentMapper,
+        EntityManager entityManager,
+        Validator validator,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.advisorRepository = advisorRepository;
+        this.managerRepository = managerRepository;
+        this.appointmentMapper = appointmentMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import a JSON array of appointments.
+     *
+     * @param in the JSON array of {@link AppointmentDTO}s; their ids are ignored.
+     * @return the number of imported rows, the rejected rows and the throughput.
+     * @throws IOException if the input cannot be read.
+     */
+    public AppointmentImportResultDTO importAppointments(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        AppointmentImportResultDTO result = new AppointmentImportResultDTO();
+        Set<Map.Entry<Long, LocalDate>> advisorDays = new LinkedHashSet<>();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                reject(result, 0, "Expected a JSON array of appointments");
+            } else {
+                for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken(), index++) {
+                    if (token == null) {
+                        reject(result, index, "Unexpected end of input");
+                        break;
+                    }
+                    JsonNode node = objectMapper.readTree(parser);
+                    try {
+                        chunk.add(new Row(index, objectMapper.treeToValue(node, AppointmentDTO.class)));
+                    } catch (JsonProcessingException e) {
+                        reject(result, index, e.getOriginalMessage());
+                    }
+                    if (chunk.size() == CHUNK_SIZE) {
+                        importChunk(chunk, result, advisorDays);
+                        chunk.clear();
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            reject(result, index, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result, advisorDays);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        result.setReceived(index);
+        result.setDurationMillis(elapsed / 1_000_000);
+        result.setRowsPerSecond(elapsed > 0 ? result.getImported() * 1e9 / elapsed : 0);
+        log.info("Imported {} appointments in {} ms, {} rejected", result.getImported(), result.getDurationMillis(), result.getRejected());
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new AppointmentsBulkChangedEvent(result.getImported(), advisorDays));
+        }
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, AppointmentImportResultDTO result, Set<Map.Entry<Long, LocalDate>> advisorDays) {
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        Set<Map.Entry<Long, LocalDate>> chunkAdvisorDays = new HashSet<>();
+        try {
+            Integer imported = transactionTemplate.execute(status -> persistChunk(chunk, errors, chunkAdvisorDays));
+            result.setImported(result.getImported() + Objects.requireNonNull(imported));
+            advisorDays.addAll(chunkAdvisorDays);
+            errors.forEach(error -> reject(result, error.getRow(), error.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Rolled back a chunk of {} appointments: {}", chunk.size(), e.getMessage());
+            String message = "Rolled back with its chunk: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            Set<Long> invalidRows = errors.stream().map(ImportErrorDTO::getRow).collect(Collectors.toSet());
+            for (Row row : chunk) {
+                reject(result, row.index, invalidRows.contains(row.index) ? findMessage(errors, row.index) : message);
+            }
+        }
+    }
+
+    private int persistChunk(List<Row> chunk, List<ImportErrorDTO> errors, Set<Map.Entry<Long, LocalDate>> advisorDays) {
+        Set<Long> advisorIds = new HashSet<>();
+        Set<Long> managerIds = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.appointment.getAdvisor() != null && row.appointment.getAdvisor().getId() != null) {
+                advisorIds.add(row.appointment.getAdvisor().getId());
+            }
+            if (row.appointment.getManager() != null && row.appointment.getManager().getId() != null) {
+                managerIds.add(row.appointment.getManager().getId());
+            }
+        }
+        Set<Long> existingAdvisorIds = advisorIds.isEmpty()
+            ? Collections.emptySet()
+            : new HashSet<>(advisorRepository.findExistingIds(advisorIds));
+        Set<Long> existingManagerIds = managerIds.isEmpty()
+            ? Collections.emptySet()
+            : new HashSet<>(managerRepository.findExistingIds(managerIds));
+
+        int persisted = 0;
+        for (Row row : chunk) {
+            String error = checkReferences(row.appointment, existingAdvisorIds, existingManagerIds);
+            if (error != null) {
+                errors.add(new ImportErrorDTO(row.index, error));
+                continue;
+            }
+            Appointment appointment = appointmentMapper.toEntity(row.appointment);
+            appointment.setId(null);
+            appointment.setAdvisor(entityManager.getReference(Advisor.class, row.appointment.getAdvisor().getId()));
+            appointment.setManager(entityManager.getReference(Manager.class, row.appointment.getManager().getId()));
+            error = validate(appointment);
+            if (error != null) {
+                errors.add(new ImportErrorDTO(row.index, error));
+                continue;
+            }
+            entityManager.persist(appointment);
+            advisorDays.add(new SimpleImmutableEntry<>(row.appointment.getAdvisor().getId(), appointment.getAppointementDate()));
+            if (++persisted % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return persisted;
+    }
+
+    private static String checkReferences(AppointmentDTO appointment, Set<Long> existingAdvisorIds, Set<Long> existingManagerIds) {
+        if (appointment.getAdvisor() == null || appointment.getAdvisor().getId() == null) {
+            return "advisor is required";
+        }
+        if (appointment.getManager() == null || appointment.getManager().getId() == null) {
+            return "manager is required";
+        }
+        if (!existingAdvisorIds.contains(appointment.getAdvisor().getId())) {
+            return "advisor " + appointment.getAdvisor().getId() + " does not exist";
+        }
+        if (!existingManagerIds.contains(appointment.getManager().getId())) {
+            return "manager " + appointment.getManager().getId() + " does not exist";
+        }
+        return null;
+    }
+
+    private String validate(Appointment appointment) {
+        Set<ConstraintViolation<Appointment>> violations = validator.validate(appointment);
+        if (!violations.isEmpty()) {
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+        if (appointment.getEndDate().isBefore(appointment.getStartDate())) {
+            return "endDate must not be before startDate";
+        }
+        if (Duration.between(appointment.getStartDate(), appointment.getEndDate()).compareTo(Appointment.MAX_LENGTH) > 0) {
+            return "endDate must not be more than " + Appointment.MAX_LENGTH.toHours() + " hours after startDate";
+        }
+        return null;
+    }
+
+    private static String findMessage(List<ImportErrorDTO> errors, long row) {
+        return errors.stream().filter(error -> error.getRow() == row).map(ImportErrorDTO::getMessage).findFirst().orElse(null);
+    }
+
+    private static void reject(AppointmentImportResultDTO result, long row, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportErrorDTO(row, message));
+        }
+    }
+
+    private static final class Row {
+
+        private final long index;
+
+        private final AppointmentDTO appointment;
+
+        private Row(long index, AppointmentDTO appointment) {
+            this.index = index;
+            this.appointment = appointment;
+        }
+    }
+}
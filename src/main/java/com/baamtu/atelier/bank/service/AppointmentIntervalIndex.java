@@ -0,0 +1,105 @@
+package com.baamtu.atelier.bank.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of the {@code [startDate, endDate)} spans booked for one advisor, loaded for a single free slot
+ * lookup.
+ * <p>
+ * Spans are kept sorted by start date. As no span is longer than the longest one indexed, only the spans starting at
+ * or after {@code from - longest} can overlap a slot starting at {@code from}, so a lookup costs a tree seek plus a walk
+ * over the spans it has to skip. Empty spans never conflict and are not indexed.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class AppointmentIntervalIndex {
+
+    private static final Comparator<Span> ORDER = Comparator.comparing(Span::getStart).thenComparingLong(Span::getId);
+
+    private final NavigableSet<Span> spans = new TreeSet<>(ORDER);
+
+    private Duration longest = Duration.ZERO;
+
+    /**
+     * Add the span of an appointment.
+     *
+     * @param id the id of the appointment.
+     * @param start the inclusive start of the span.
+     * @param end the exclusive end of the span.
+     */
+    public void put(long id, Instant start, Instant end) {
+        if (!start.isBefore(end)) {
+            return;
+        }
+        spans.add(new Span(id, start, end));
+        Duration duration = Duration.between(start, end);
+        if (duration.compareTo(longest) > 0) {
+            longest = duration;
+        }
+    }
+
+    public int size() {
+        return spans.size();
+    }
+
+    /**
+     * Find the earliest instant, at or after {@code from}, starting a free slot of the given duration.
+     *
+     * @param from the earliest acceptable start of the slot.
+     * @param duration the duration of the slot.
+     * @return the start of the first free slot.
+     */
+    public Instant nextFreeSlot(Instant from, Duration duration) {
+        Instant cursor = from;
+        for (Span span : spans.tailSet(new Span(Long.MIN_VALUE, from.minus(longest), from.minus(longest)), true)) {
+            if (!span.end.isAfter(cursor)) {
+                continue;
+            }
+            if (!span.start.isBefore(cursor.plus(duration))) {
+                return cursor;
+            }
+            cursor = span.end;
+        }
+        return cursor;
+    }
+
+    /**
+     * An indexed {@code [start, end)} span.
+     */
+    static final class Span {
+
+        private final long id;
+
+        private final Instant start;
+
+        private final Instant end;
+
+        Span(long id, Instant start, Instant end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        Instant getStart() {
+            return start;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Span{" +
+                "id=" + id +
+                ", start=" + start +
+                ", end=" + end +
+                "}";
+        }
+    }
+}
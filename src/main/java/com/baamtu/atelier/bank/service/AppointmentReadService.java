@@ -0,0 +1,59 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.service.dto.AppointmentCursor;
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.mapper.AppointmentMapper;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the read-heavy {@link Appointment} listings, which must not degrade with the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AppointmentReadService {
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentReadService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AppointmentMapper appointmentMapper;
+
+    public AppointmentReadService(AppointmentRepository appointmentRepository, AppointmentMapper appointmentMapper) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentMapper = appointmentMapper;
+    }
+
+    /**
+     * Get a slice of appointments with keyset pagination.
+     * <p>
+     * The query seeks on the {@code (start_date, id)} index instead of skipping rows with an offset, and no count
+     * query is issued, so the cost of a page does not depend on its depth.
+     *
+     * @param after the position to resume from, or {@code null} for the first slice.
+     * @param size the maximum number of appointments in the slice.
+     * @return the slice of appointments.
+     */
+    public Slice<AppointmentDTO> findAllAfter(AppointmentCursor after, int size) {
+        log.debug("Request to get a slice of Appointments after : {}", after);
+        // Fetch one extra row to know whether there is a next slice without counting.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Appointment> appointments = after == null
+            ? appointmentRepository.findFirstPageOrderByStartDate(limit)
+            : appointmentRepository.findPageAfterOrderByStartDate(after.getStartDate(), after.getId(), limit);
+        boolean hasNext = appointments.size() > size;
+        if (hasNext) {
+            appointments = appointments.subList(0, size);
+        }
+        return new SliceImpl<>(appointmentMapper.toDto(appointments), PageRequest.of(0, size), hasNext);
+    }
+}
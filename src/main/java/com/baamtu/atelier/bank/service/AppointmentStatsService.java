@@ -0,0 +1,162 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.AppointmentDailyStat;
+import com.baamtu.atelier.bank.repository.AdvisorDay;
+import com.baamtu.atelier.bank.repository.AppointmentDailyStatRepository;
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.AppointmentStatDTO;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining and reading the {@link AppointmentDailyStat}s.
+ * <p>
+ * Once a change to appointments is committed, the statistics of the advisors and days it touched are recounted in a
+ * new transaction, which only reads the few appointments of an advisor on a day. A nightly job recounts everything,
+ * to repair the statistics a failed or concurrent recount may have left behind. Reading the statistics of a period
+ * therefore costs O(days &times; advisors), whatever the number of appointments.
+ */
+@Service
+public class AppointmentStatsService {
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentStatsService.class);
+
+    private final AppointmentDailyStatRepository appointmentDailyStatRepository;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final TransactionTemplate newTransaction;
+
+    public AppointmentStatsService(
+        AppointmentDailyStatRepository appointmentDailyStatRepository,
+        AppointmentRepository appointmentRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.appointmentDailyStatRepository = appointmentDailyStatRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the statistics of each advisor, optionally restricted to the advisors of an agency.
+     *
+     * @param from the first day.
+     * @param to the last day, inclusive.
+     * @param agencyId the id of the agency, or {@code null}.
+     * @return the statistics, ordered by day, advisor and status.
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentStatDTO> findByAdvisor(LocalDate from, LocalDate to, Long agencyId) {
+        log.debug("Request to get the Appointment statistics per advisor from {} to {} : {}", from, to, agencyId);
+        if (agencyId != null) {
+            return appointmentDailyStatRepository.findByAdvisorForAgency(agencyId, from, to);
+        }
+        return appointmentDailyStatRepository.findByAdvisor(from, to);
+    }
+
+    /**
+     * Get the statistics of each agency.
+     *
+     * @param from the first day.
+     * @param to the last day, inclusive.
+     * @return the statistics, ordered by day, agency and status.
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentStatDTO> findByAgency(LocalDate from, LocalDate to) {
+        log.debug("Request to get the Appointment statistics per agency from {} to {}", from, to);
+        return appointmentDailyStatRepository.findByAgency(from, to);
+    }
+
+    /**
+     * Recount all the statistics from the appointments.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:30 (am).
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    @Transactional
+    public void reconcile() {
+        recountAll();
+    }
+
+    /**
+     * Recount the statistics of the advisors and days of a changed appointment, once the change is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Set<Map.Entry<Long, LocalDate>> advisorDays = new LinkedHashSet<>();
+        addAdvisorDay(advisorDays, event.getPrevious());
+        addAdvisorDay(advisorDays, event.getCurrent());
+        recount(advisorDays);
+    }
+
+    /**
+     * Recount the statistics of the advisors and days of appointments written in bulk, or all of them if neither the
+     * appointments nor their advisors and days are known, once the change is committed.
+     *
+     * @param event the change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentsBulkChanged(AppointmentsBulkChangedEvent event) {
+        Optional<Set<Long>> ids = event.getIds();
+        if (ids.isPresent()) {
+            Set<Map.Entry<Long, LocalDate>> advisorDays = new LinkedHashSet<>();
+            for (AdvisorDay advisorDay : appointmentRepository.findAdvisorDaysByIds(ids.get())) {
+                advisorDays.add(new SimpleImmutableEntry<>(advisorDay.getAdvisorId(), advisorDay.getDay()));
+            }
+            recount(advisorDays);
+        } else if (event.getAdvisorDays().isPresent()) {
+            recount(event.getAdvisorDays().get());
+        } else {
+            newTransaction.executeWithoutResult(status -> recountAll());
+        }
+    }
+
+    private void recountAll() {
+        appointmentDailyStatRepository.deleteAllStats();
+        int count = appointmentDailyStatRepository.countAll();
+        log.debug("Recounted {} Appointment statistics", count);
+    }
+
+    private void recount(Set<Map.Entry<Long, LocalDate>> advisorDays) {
+        if (advisorDays.isEmpty()) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> advisorDays.forEach(this::recount));
+        } catch (DataIntegrityViolationException e) {
+            // Another node recounted the same day concurrently; its rows are committed now, so recount over them
+            log.debug("Concurrent recount of {}, retrying", advisorDays);
+            newTransaction.executeWithoutResult(status -> advisorDays.forEach(this::recount));
+        }
+    }
+
+    private void recount(Map.Entry<Long, LocalDate> advisorDay) {
+        appointmentDailyStatRepository.deleteByAdvisorAndDay(advisorDay.getKey(), advisorDay.getValue());
+        appointmentDailyStatRepository.countByAdvisorAndDay(advisorDay.getKey(), advisorDay.getValue());
+    }
+
+    private static void addAdvisorDay(Set<Map.Entry<Long, LocalDate>> advisorDays, AppointmentDTO appointment) {
+        if (appointment != null && appointment.getAdvisor() != null && appointment.getAppointementDate() != null) {
+            advisorDays.add(new SimpleImmutableEntry<>(appointment.getAdvisor().getId(), appointment.getAppointementDate()));
+        }
+    }
+}
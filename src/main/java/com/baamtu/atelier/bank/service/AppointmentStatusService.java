@@ -0,0 +1,107 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.service.dto.StatusTransitionResultDTO;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service changing the {@link Status} of many {@link Appointment}s at once.
+ * <p>
+ * The appointments are locked and checked with one query, then all the valid transitions are applied with a single
+ * bulk update, which invalidates the {@link Appointment} cache region once instead of once per appointment.
+ * <p>
+ * A pending appointment (without status) can be approved, rejected, reported or cancelled. An approved one can be
+ * reported or cancelled, a reported one approved, rejected or cancelled. Rejected and cancelled appointments have
+ * released their time slot, so their status is final.
+ */
+@Service
+@Transactional
+public class AppointmentStatusService {
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentStatusService.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AppointmentStatusService(AppointmentRepository appointmentRepository, ApplicationEventPublisher eventPublisher) {
+        this.appointmentRepository = appointmentRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Change the status of the given appointments, skipping the ones for which the transition is not allowed.
+     *
+     * @param ids the ids of the appointments.
+     * @param status the new status.
+     * @return the updated appointments and the rejected ones, with the reason.
+     */
+    public StatusTransitionResultDTO transition(Collection<Long> ids, Status status) {
+        log.debug("Request to set the status of Appointments {} to {}", ids, status);
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, Appointment> appointments = appointmentRepository
+            .findAllWithLockByIdIn(requested)
+            .stream()
+            .collect(Collectors.toMap(Appointment::getId, Function.identity()));
+
+        StatusTransitionResultDTO result = new StatusTransitionResultDTO();
+        Set<Long> accepted = new LinkedHashSet<>();
+        for (Long id : requested) {
+            Appointment appointment = appointments.get(id);
+            if (appointment == null) {
+                result.getRejected().add(new StatusTransitionResultDTO.Rejection(id, "not found"));
+            } else if (!isAllowed(appointment.getStatus(), status)) {
+                String from = appointment.getStatus() != null ? appointment.getStatus().name() : "pending";
+                result.getRejected().add(new StatusTransitionResultDTO.Rejection(id, "cannot change from " + from + " to " + status));
+            } else {
+                accepted.add(id);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            int updated = appointmentRepository.updateStatus(accepted, status, Instant.now());
+            log.debug("Set the status of {} Appointments to {}", updated, status);
+            result.getUpdated().addAll(accepted);
+            eventPublisher.publishEvent(new AppointmentsBulkChangedEvent(accepted));
+        }
+        return result;
+    }
+
+    /**
+     * Check whether an appointment can go from one status to another.
+     *
+     * @param from the current status, {@code null} if the appointment is pending.
+     * @param to the new status.
+     * @return {@code true} if the transition is allowed.
+     */
+    public static boolean isAllowed(Status from, Status to) {
+        return allowedTransitions(from).contains(to);
+    }
+
+    private static Set<Status> allowedTransitions(Status from) {
+        if (from == null) {
+            return EnumSet.allOf(Status.class);
+        }
+        switch (from) {
+            case APPROVED:
+                return EnumSet.of(Status.REPORTED, Status.CANCELLED);
+            case REPORTED:
+                return EnumSet.of(Status.APPROVED, Status.REJECTED, Status.CANCELLED);
+            default:
+                return EnumSet.noneOf(Status.class);
+        }
+    }
+}
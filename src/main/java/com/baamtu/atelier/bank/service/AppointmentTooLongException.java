@@ -0,0 +1,12 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Appointment;
+
+public class AppointmentTooLongException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AppointmentTooLongException() {
+        super("An appointment must not last more than " + Appointment.MAX_LENGTH.toHours() + " hours");
+    }
+}
@@ -0,0 +1,84 @@
+package com.baamtu.atelier.bank.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Event published when appointments are written in bulk, bypassing the per-appointment
+ * {@link AppointmentChangedEvent}s.
+ */
+public class AppointmentsBulkChangedEvent {
+
+    private final long count;
+
+    private final Set<Long> ids;
+
+    private final Set<Map.Entry<Long, LocalDate>> advisorDays;
+
+    /**
+     * Create an event for appointments whose ids are not known: every derived view of the appointments must be
+     * considered stale.
+     *
+     * @param count the number of appointments written.
+     */
+    public AppointmentsBulkChangedEvent(long count) {
+        this.count = count;
+        this.ids = null;
+        this.advisorDays = null;
+    }
+
+    /**
+     * Create an event for appointments whose ids are not known, but whose advisors and days are.
+     *
+     * @param count the number of appointments written.
+     * @param advisorDays the ids of the advisors and the days of the appointments written.
+     */
+    public AppointmentsBulkChangedEvent(long count, Set<Map.Entry<Long, LocalDate>> advisorDays) {
+        this.count = count;
+        this.ids = null;
+        this.advisorDays = Collections.unmodifiableSet(advisorDays);
+    }
+
+    /**
+     * Create an event for the given appointments.
+     *
+     * @param ids the ids of the appointments written.
+     */
+    public AppointmentsBulkChangedEvent(Set<Long> ids) {
+        this.count = ids.size();
+        this.ids = Collections.unmodifiableSet(ids);
+        this.advisorDays = null;
+    }
+
+    /**
+     * @return the number of appointments written.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the ids of the appointments written, if known.
+     */
+    public Optional<Set<Long>> getIds() {
+        return Optional.ofNullable(ids);
+    }
+
+    /**
+     * @return the ids of the advisors and the days of the appointments written, if known without their ids.
+     */
+    public Optional<Set<Map.Entry<Long, LocalDate>>> getAdvisorDays() {
+        return Optional.ofNullable(advisorDays);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentsBulkChangedEvent{" +
+            "count=" + count +
+            "}";
+    }
+}
@@ -0,0 +1,170 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.repository.AuthorityRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory registry of the {@link Authority} table, which only changes with database migrations.
+ * <p>
+ * It is loaded once the application is ready, and reloaded on first use once an authority has been inserted or deleted
+ * through JPA and the transaction has completed. Unknown names are answered from memory, so that requests naming
+ * authorities which do not exist cannot make the registry reload. The resolved instances are detached: they can be
+ * added to the authorities of a user, only their name is written, without loading them first.
+ */
+@Service
+public class AuthorityRegistry implements PostInsertEventListener, PostDeleteEventListener {
+
+    private final Logger log = LoggerFactory.getLogger(AuthorityRegistry.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private volatile Map<String, Authority> authorities;
+
+    /**
+     * Incremented on every change, so that authorities loaded while one completes are not kept.
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    public AuthorityRegistry(AuthorityRepository authorityRepository, EntityManagerFactory entityManagerFactory) {
+        this.authorityRepository = authorityRepository;
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Reload the authorities from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        try {
+            load();
+        } catch (DataAccessException e) {
+            // The schema may still be migrating, the authorities are then loaded on first use.
+            log.warn("Could not load the authorities: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the names of all the authorities.
+     *
+     * @return the names, in alphabetical order.
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(authorities().keySet());
+    }
+
+    /**
+     * Resolve an authority by name.
+     *
+     * @param name the name of the authority.
+     * @return the authority, or empty if it does not exist.
+     */
+    public Optional<Authority> resolve(String name) {
+        return Optional.ofNullable(authorities().get(name));
+    }
+
+    /**
+     * Resolve authorities by name, ignoring the unknown ones.
+     *
+     * @param names the names of the authorities.
+     * @return a new mutable set of the existing authorities.
+     */
+    public Set<Authority> resolveAll(Collection<String> names) {
+        Set<Authority> resolved = new HashSet<>(Math.max(4, names.size() * 4 / 3 + 1));
+        for (String name : names) {
+            resolve(name).ifPresent(resolved::add);
+        }
+        return resolved;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onChange(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onChange(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void onChange(Object entity) {
+        if (!(entity instanceof Authority)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            forget();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    forget();
+                }
+            }
+        );
+    }
+
+    private void forget() {
+        changes.incrementAndGet();
+        authorities = null;
+    }
+
+    private Map<String, Authority> authorities() {
+        Map<String, Authority> current = authorities;
+        return current != null ? current : load();
+    }
+
+    private synchronized Map<String, Authority> load() {
+        long changesBefore = changes.get();
+        Map<String, Authority> loaded = new LinkedHashMap<>();
+        for (Authority authority : authorityRepository.findAll(Sort.by("name"))) {
+            Authority detached = new Authority();
+            detached.setName(authority.getName());
+            loaded.put(detached.getName(), detached);
+        }
+        Map<String, Authority> result = Collections.unmodifiableMap(loaded);
+        if (changes.get() == changesBefore) {
+            authorities = result;
+        }
+        log.debug("Loaded {} authorities", loaded.size());
+        return result;
+    }
+}
@@ -0,0 +1,269 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import com.baamtu.atelier.bank.domain.MailOutboxEntry;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.repository.MailOutboxEntryRepository;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service queuing the emails to send to users in the {@link MailOutboxEntry} table, and sending them through
+ * {@link MailService}.
+ * <p>
+ * Emails are queued in the transaction of the change they notify, so they are sent if and only if it commits, and they
+ * survive a restart. The worker sends them in batches, each batch over a single SMTP connection and in its own
+ * transaction; an email which cannot be sent is retried with an exponential backoff, then abandoned.
+ */
+@Service
+@Transactional
+public class MailOutboxService {
+
+    private static final String METRIC_PREFIX = "mail.outbox";
+
+    private static final int LAST_ERROR_MAX_LENGTH = 255;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private final MailOutboxEntryRepository mailOutboxEntryRepository;
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final TransactionTemplate newTransaction;
+
+    private final Timer batchTimer;
+
+    private final Counter sent;
+
+    private final Counter retried;
+
+    private final Counter abandoned;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public MailOutboxService(
+        MailOutboxEntryRepository mailOutboxEntryRepository,
+        UserRepository userRepository,
+        MailService mailService,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxEntryRepository = mailOutboxEntryRepository;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.properties = applicationProperties.getMailOutbox();
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchTimer =
+            Timer.builder(METRIC_PREFIX + ".batch").description("Time spent sending a batch of emails").register(meterRegistry);
+        this.sent = Counter.builder(METRIC_PREFIX + ".sent").description("Emails sent").register(meterRegistry);
+        this.retried =
+            Counter.builder(METRIC_PREFIX + ".retried").description("Emails which failed and will be retried").register(meterRegistry);
+        this.abandoned =
+            Counter
+                .builder(METRIC_PREFIX + ".abandoned")
+                .description("Emails abandoned after too many failed attempts")
+                .register(meterRegistry);
+        Gauge
+            .builder(METRIC_PREFIX + ".pending", pending, AtomicLong::get)
+            .description("Emails waiting to be sent")
+            .register(meterRegistry);
+        TimeGauge
+            .builder(METRIC_PREFIX + ".lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest email waiting to be sent")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue the email telling a user created by an administrator how to choose a password.
+     *
+     * @param user the created user.
+     */
+    public void enqueueCreationEmail(User user) {
+        enqueue(user, MailService.CREATION_TEMPLATE, MailService.CREATION_TITLE_KEY);
+    }
+
+    /**
+     * Queue the email with the link activating a registered account.
+     *
+     * @param user the registered user.
+     */
+    public void enqueueActivationEmail(User user) {
+        enqueue(user, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
+    }
+
+    /**
+     * Queue the email with the link resetting the password of a user.
+     *
+     * @param user the user who asked for the reset.
+     */
+    public void enqueuePasswordResetEmail(User user) {
+        enqueue(user, MailService.PASSWORD_RESET_TEMPLATE, MailService.PASSWORD_RESET_TITLE_KEY);
+    }
+
+    /**
+     * Queue a templated email.
+     *
+     * @param user the recipient.
+     * @param templateName the Thymeleaf template of the body.
+     * @param titleKey the message key of the subject.
+     */
+    public void enqueue(User user, String templateName, String titleKey) {
+        if (user.getEmail() == null) {
+            log.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return;
+        }
+        Instant now = Instant.now();
+        mailOutboxEntryRepository.save(
+            new MailOutboxEntry().user(user).templateName(templateName).titleKey(titleKey).createdDate(now).nextAttemptDate(now)
+        );
+    }
+
+    /**
+     * Send the emails due for an attempt, oldest first, batch after batch until none is left or the per-run limit is
+     * reached.
+     * <p>
+     * This is scheduled to run every {@code application.mail-outbox.poll-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval:PT5S}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendQueued() {
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer size = batchTimer.record(() -> newTransaction.execute(status -> sendBatch()));
+            if (size == null || size < properties.getBatchSize()) {
+                break;
+            }
+        }
+        pending.set(mailOutboxEntryRepository.countBySentDateIsNullAndAttemptsLessThan(properties.getMaxAttempts()));
+        Instant oldest = mailOutboxEntryRepository.findOldestPendingCreatedDate(properties.getMaxAttempts());
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis());
+    }
+
+    /**
+     * Claim, send and mark one batch. The rows stay locked until the transaction ends, so another instance skips
+     * them instead of sending them again.
+     *
+     * @return the number of emails in the batch.
+     */
+    private int sendBatch() {
+        Instant now = Instant.now();
+        List<MailOutboxEntry> entries = mailOutboxEntryRepository.findDueForUpdate(
+            now,
+            properties.getMaxAttempts(),
+            PageRequest.of(0, properties.getBatchSize())
+        );
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        // Load the recipients with one query, rather than one per lazy association
+        Set<Long> userIds = new HashSet<>();
+        for (MailOutboxEntry entry : entries) {
+            userIds.add(entry.getUser().getId());
+        }
+        userRepository.findAllById(userIds);
+
+        // Render the emails sharing a template together
+        Map<String, List<MailOutboxEntry>> groups = new LinkedHashMap<>();
+        for (MailOutboxEntry entry : entries) {
+            groups.computeIfAbsent(entry.getTemplateName() + '|' + entry.getTitleKey(), key -> new ArrayList<>()).add(entry);
+        }
+        Map<MimeMessage, MailOutboxEntry> messages = new LinkedHashMap<>();
+        for (List<MailOutboxEntry> group : groups.values()) {
+            render(group, messages, now);
+        }
+        Map<MimeMessage, Exception> failures = mailService.sendAll(new ArrayList<>(messages.keySet()));
+        messages.forEach(
+            (message, entry) -> {
+                Exception failure = failures.get(message);
+                if (failure == null) {
+                    entry.setSentDate(now);
+                    sent.increment();
+                } else {
+                    failed(entry, now, failure);
+                }
+            }
+        );
+        log.debug("Sent {} of {} queued emails", messages.size() - failures.size(), entries.size());
+        return entries.size();
+    }
+
+    private void render(List<MailOutboxEntry> group, Map<MimeMessage, MailOutboxEntry> messages, Instant now) {
+        MailOutboxEntry first = group.get(0);
+        List<User> users = new ArrayList<>(group.size());
+        for (MailOutboxEntry entry : group) {
+            users.add(entry.getUser());
+        }
+        try {
+            List<MimeMessage> rendered = mailService.createTemplatedEmails(users, first.getTemplateName(), first.getTitleKey());
+            for (int i = 0; i < group.size(); i++) {
+                messages.put(rendered.get(i), group.get(i));
+            }
+        } catch (RuntimeException e) {
+            // Render them one by one, so that only the faulty emails fail
+            for (MailOutboxEntry entry : group) {
+                try {
+                    messages.put(mailService.createTemplatedEmail(entry.getUser(), entry.getTemplateName(), entry.getTitleKey()), entry);
+                } catch (RuntimeException ex) {
+                    failed(entry, now, ex);
+                }
+            }
+        }
+    }
+
+    private void failed(MailOutboxEntry entry, Instant now, Exception cause) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(StringUtils.abbreviate(String.valueOf(cause.getMessage()), LAST_ERROR_MAX_LENGTH));
+        if (attempts >= properties.getMaxAttempts()) {
+            abandoned.increment();
+            log.error("Email {} abandoned after {} attempts: {}", entry.getId(), attempts, cause.getMessage());
+        } else {
+            entry.setNextAttemptDate(now.plus(backoff(attempts)));
+            retried.increment();
+            log.warn(
+                "Email {} could not be sent, it will be retried at {}: {}",
+                entry.getId(),
+                entry.getNextAttemptDate(),
+                cause.getMessage()
+            );
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
@@ -1,43 +1,55 @@
 package com.baamtu.atelier.bank.service;
 
 import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.service.MailTemplateRenderer.RenderedEmail;
 import java.nio.charset.StandardCharsets;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
 import org.thymeleaf.spring5.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * We use the {@link Async} annotation to send emails asynchronously. Templated emails are queued with
+ * {@link MailOutboxService}, which renders and sends them with this service.
  */
 @Service
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    static final String CREATION_TEMPLATE = "mail/creationEmail";
 
-    private static final String BASE_URL = "baseUrl";
+    static final String CREATION_TITLE_KEY = "email.activation.title";
+
+    static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
+
+    static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
+
+    static final String PASSWORD_RESET_TITLE_KEY = "email.reset.title";
 
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
+    private final MailTemplateRenderer renderer;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
@@ -47,8 +59,7 @@ public class MailService {
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.renderer = new MailTemplateRenderer(messageSource, templateEngine, jHipsterProperties.getMail().getBaseUrl());
     }
 
     @Async
@@ -62,51 +73,90 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
+            send(to, subject, content, isMultipart, isHtml);
             log.debug("Sent email to User '{}'", to);
         } catch (MailException | MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
-    @Async
-    public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        if (user.getEmail() == null) {
-            log.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
+    /**
+     * Render a templated email, without sending it.
+     *
+     * @param user the recipient.
+     * @param templateName the Thymeleaf template of the body.
+     * @param titleKey the message key of the subject.
+     * @return the message, to send with {@link #sendAll(List)}.
+     * @throws MailException if the message could not be prepared.
+     */
+    public MimeMessage createTemplatedEmail(User user, String templateName, String titleKey) {
+        return createMessage(renderer.render(user, templateName, titleKey));
+    }
+
+    /**
+     * Render the same templated email for a batch of recipients, without sending it.
+     *
+     * @param users the recipients.
+     * @param templateName the Thymeleaf template of the body.
+     * @param titleKey the message key of the subject.
+     * @return the messages, in the order of the recipients, to send with {@link #sendAll(List)}.
+     * @throws MailException if a message could not be prepared.
+     */
+    public List<MimeMessage> createTemplatedEmails(List<User> users, String templateName, String titleKey) {
+        List<MimeMessage> messages = new ArrayList<>(users.size());
+        for (RenderedEmail email : renderer.renderAll(users, templateName, titleKey)) {
+            messages.add(createMessage(email));
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        return messages;
     }
 
-    @Async
-    public void sendActivationEmail(User user) {
-        log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+    /**
+     * Send messages on the calling thread, over a single SMTP connection.
+     *
+     * @param messages the messages to send.
+     * @return the messages which could not be sent, with the cause of the failure; empty if all were sent.
+     */
+    public Map<MimeMessage, Exception> sendAll(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new HashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            javaMailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Only the listed messages failed, unless the connection itself could not be opened
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.put((MimeMessage) message, cause));
+        } catch (MailException e) {
+            messages.forEach(message -> failures.put(message, e));
+        }
+        return failures;
     }
 
-    @Async
-    public void sendCreationEmail(User user) {
-        log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+    private void send(String to, String subject, String content, boolean isMultipart, boolean isHtml) throws MessagingException {
+        javaMailSender.send(createMessage(to, subject, content, isMultipart, isHtml));
     }
 
-    @Async
-    public void sendPasswordResetMail(User user) {
-        log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+    private MimeMessage createMessage(RenderedEmail email) {
+        try {
+            return createMessage(email.getUser().getEmail(), email.getSubject(), email.getContent(), false, true);
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+    }
+
+    private MimeMessage createMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
     }
 }
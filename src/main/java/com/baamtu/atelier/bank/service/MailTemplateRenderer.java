@@ -0,0 +1,128 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.User;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.context.MessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+
+/**
+ * Renders the subject and body of templated emails, for one recipient or for a batch of them.
+ * <p>
+ * Parsed templates are cached by the Thymeleaf template engine itself (see {@code spring.thymeleaf.cache}). On top of
+ * it, localized subjects are resolved once per message key and locale, and a batch reuses one evaluation context per
+ * locale, only replacing the recipient between two renders.
+ * <p>
+ * This class is thread-safe.
+ */
+public class MailTemplateRenderer {
+
+    static final String USER = "user";
+
+    static final String BASE_URL = "baseUrl";
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final String baseUrl;
+
+    private final ConcurrentMap<Locale, ConcurrentMap<String, String>> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(MessageSource messageSource, SpringTemplateEngine templateEngine, String baseUrl) {
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Render an email for one recipient.
+     *
+     * @param user the recipient.
+     * @param templateName the Thymeleaf template of the body.
+     * @param titleKey the message key of the subject.
+     * @return the rendered email.
+     */
+    public RenderedEmail render(User user, String templateName, String titleKey) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        return render(user, templateName, subject(titleKey, locale), newContext(locale));
+    }
+
+    /**
+     * Render the same email for a batch of recipients.
+     *
+     * @param users the recipients.
+     * @param templateName the Thymeleaf template of the body.
+     * @param titleKey the message key of the subject.
+     * @return the rendered emails, in the order of the recipients.
+     */
+    public List<RenderedEmail> renderAll(List<User> users, String templateName, String titleKey) {
+        List<RenderedEmail> emails = new ArrayList<>(users.size());
+        Map<String, Context> contexts = new HashMap<>();
+        for (User user : users) {
+            Context context = contexts.computeIfAbsent(user.getLangKey(), langKey -> newContext(Locale.forLanguageTag(langKey)));
+            emails.add(render(user, templateName, subject(titleKey, context.getLocale()), context));
+        }
+        return emails;
+    }
+
+    /**
+     * Get a localized subject.
+     *
+     * @param titleKey the message key of the subject.
+     * @param locale the locale of the recipient.
+     * @return the subject, resolved on the first call for this key and locale only.
+     */
+    public String subject(String titleKey, Locale locale) {
+        return subjects
+            .computeIfAbsent(locale, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(titleKey, key -> messageSource.getMessage(key, null, locale));
+    }
+
+    private Context newContext(Locale locale) {
+        Context context = new Context(locale);
+        context.setVariable(BASE_URL, baseUrl);
+        return context;
+    }
+
+    private RenderedEmail render(User user, String templateName, String subject, Context context) {
+        context.setVariable(USER, user);
+        return new RenderedEmail(user, subject, templateEngine.process(templateName, context));
+    }
+
+    /**
+     * The subject and HTML body of an email to a user.
+     */
+    public static final class RenderedEmail {
+
+        private final User user;
+
+        private final String subject;
+
+        private final String content;
+
+        RenderedEmail(User user, String subject, String content) {
+            this.user = user;
+            this.subject = subject;
+            this.content = content;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
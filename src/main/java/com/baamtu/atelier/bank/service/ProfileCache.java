@@ -0,0 +1,200 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.repository.ManagerRepository;
+import com.baamtu.atelier.bank.service.dto.AdvisorProfileDTO;
+import com.baamtu.atelier.bank.service.dto.ManagerProfileDTO;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache of the profiles of the current advisors and managers, keyed by login, which are read on every page load.
+ * <p>
+ * Profiles are cached as DTOs rather than entities, as entities detached from their session cannot load their lazy
+ * associations. A region is cleared whenever one of the entities its profiles show is inserted, updated or deleted,
+ * through a repository or by dirty checking: at once, and again when the transaction completes. Until then, the
+ * writing transaction reads the profiles from the database without caching them, and profiles loaded concurrently are
+ * not cached either.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProfileCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String ADVISORS_BY_LOGIN_CACHE = "advisorsByLogin";
+
+    public static final String MANAGERS_BY_LOGIN_CACHE = "managersByLogin";
+
+    /**
+     * Regions showing each entity; advisor profiles show the name of their agency.
+     */
+    private static final Map<Class<?>, Set<String>> REGIONS_BY_ENTITY = Map.of(
+        Advisor.class,
+        Set.of(ADVISORS_BY_LOGIN_CACHE),
+        Agency.class,
+        Set.of(ADVISORS_BY_LOGIN_CACHE),
+        Manager.class,
+        Set.of(MANAGERS_BY_LOGIN_CACHE),
+        User.class,
+        Set.of(ADVISORS_BY_LOGIN_CACHE, MANAGERS_BY_LOGIN_CACHE)
+    );
+
+    private final AdvisorRepository advisorRepository;
+
+    private final ManagerRepository managerRepository;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Incremented on every eviction, so that a profile loaded while one happens is not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ProfileCache(
+        AdvisorRepository advisorRepository,
+        ManagerRepository managerRepository,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        this.advisorRepository = advisorRepository;
+        this.managerRepository = managerRepository;
+        this.cacheManager = cacheManager;
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Get the advisor profile of a user.
+     *
+     * @param login the login of the user.
+     * @return the profile, or empty if the user is not an advisor.
+     */
+    public Optional<AdvisorProfileDTO> findAdvisorProfile(String login) {
+        return get(ADVISORS_BY_LOGIN_CACHE, login, () -> advisorRepository.findOneByUserLogin(login).map(AdvisorProfileDTO::new));
+    }
+
+    /**
+     * Get the manager profile of a user.
+     *
+     * @param login the login of the user.
+     * @return the profile, or empty if the user is not a manager.
+     */
+    public Optional<ManagerProfileDTO> findManagerProfile(String login) {
+        return get(MANAGERS_BY_LOGIN_CACHE, login, () -> managerRepository.findOneByUserLogin(login).map(ManagerProfileDTO::new));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> get(String cacheName, String login, Supplier<Optional<T>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || writtenInCurrentTransaction().contains(cacheName)) {
+            return loader.get();
+        }
+        // Users without a profile are cached too, as a null value
+        Cache.ValueWrapper cached = cache.get(login);
+        if (cached != null) {
+            return Optional.ofNullable((T) cached.get());
+        }
+        long evictionsBefore = evictions.get();
+        Optional<T> loaded = loader.get();
+        if (evictions.get() == evictionsBefore) {
+            cache.put(login, loaded.orElse(null));
+        }
+        return loaded;
+    }
+
+    private void evict(Class<?> entityClass) {
+        Set<String> cacheNames = REGIONS_BY_ENTITY.get(entityClass);
+        if (cacheNames == null) {
+            return;
+        }
+        evict(cacheNames);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            written = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, written);
+            registerEvictionOnCompletion(written);
+        }
+        written.addAll(cacheNames);
+    }
+
+    private void registerEvictionOnCompletion(Set<String> written) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProfileCache.this);
+                    evict(written);
+                }
+            }
+        );
+    }
+
+    private void evict(Set<String> cacheNames) {
+        evictions.incrementAndGet();
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenInCurrentTransaction() {
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        return written != null ? written : Set.of();
+    }
+}
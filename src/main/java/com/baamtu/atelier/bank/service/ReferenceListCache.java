@@ -0,0 +1,218 @@
+package com.baamtu.atelier.bank.service;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.Enterprise;
+import com.baamtu.atelier.bank.domain.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Cache of the full listings of the reference data (agencies, enterprises, advisors), which are read on every form
+ * load but rarely written.
+ * <p>
+ * Each listing is cached with a version, the digest of its JSON representation, so that it can be used as an ETag by
+ * every instance. A listing is evicted whenever one of the entities it shows is inserted, updated or deleted: at once,
+ * and again when the transaction completes. Until then, the writing transaction reads the listing from the database
+ * without caching it, and listings loaded concurrently are not cached either.
+ */
+@Service
+public class ReferenceListCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public static final String REFERENCE_LISTS_CACHE = "referenceLists";
+
+    public static final String AGENCIES = "agencies";
+
+    public static final String ENTERPRISES = "enterprises";
+
+    public static final String ADVISORS = "advisors";
+
+    /**
+     * Listings showing each entity; advisors show the login of their user.
+     */
+    private static final Map<Class<?>, Set<String>> LISTINGS_BY_ENTITY = Map.of(
+        Agency.class,
+        Set.of(AGENCIES),
+        Enterprise.class,
+        Set.of(ENTERPRISES),
+        Advisor.class,
+        Set.of(ADVISORS),
+        User.class,
+        Set.of(ADVISORS)
+    );
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceListCache.class);
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Incremented on every eviction, so that a listing loaded while one happens is not cached.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ReferenceListCache(CacheManager cacheManager, ObjectMapper objectMapper, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Get a listing from the cache, or load and cache it.
+     *
+     * @param name the name of the listing.
+     * @param loader the loader of the listing.
+     * @param <T> the type of the elements.
+     * @return the listing, with its version.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> VersionedList<T> get(String name, Supplier<List<T>> loader) {
+        Cache cache = cacheManager.getCache(REFERENCE_LISTS_CACHE);
+        if (cache == null || writtenInCurrentTransaction().contains(name)) {
+            return load(loader);
+        }
+        VersionedList<T> cached = cache.get(name, VersionedList.class);
+        if (cached != null) {
+            return cached;
+        }
+        long evictionsBefore = evictions.get();
+        VersionedList<T> loaded = load(loader);
+        if (evictions.get() == evictionsBefore) {
+            cache.put(name, loaded);
+        }
+        log.debug("Loaded the {} listing, version {}", name, loaded.getVersion());
+        return loaded;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getPersister().getMappedClass());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private <T> VersionedList<T> load(Supplier<List<T>> loader) {
+        List<T> content = loader.get();
+        try {
+            return new VersionedList<>(DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(content)), content);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void evict(Class<?> entityClass) {
+        Set<String> names = LISTINGS_BY_ENTITY.get(entityClass);
+        if (names == null) {
+            return;
+        }
+        evict(names);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            written = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, written);
+            registerEvictionOnCompletion(written);
+        }
+        written.addAll(names);
+    }
+
+    private void registerEvictionOnCompletion(Set<String> written) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceListCache.this);
+                    evict(written);
+                }
+            }
+        );
+    }
+
+    private void evict(Set<String> names) {
+        evictions.incrementAndGet();
+        Cache cache = cacheManager.getCache(REFERENCE_LISTS_CACHE);
+        if (cache != null) {
+            names.forEach(cache::evict);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> writtenInCurrentTransaction() {
+        Set<String> written = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        return written != null ? written : Set.of();
+    }
+
+    /**
+     * A listing and its version.
+     *
+     * @param <T> the type of the elements.
+     */
+    public static class VersionedList<T> {
+
+        private final String version;
+
+        private final List<T> content;
+
+        public VersionedList(String version, List<T> content) {
+            this.version = version;
+            this.content = List.copyOf(content);
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public List<T> getContent() {
+            return content;
+        }
+    }
+}
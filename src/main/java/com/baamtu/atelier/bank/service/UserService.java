@@ -3,23 +3,20 @@ package com.baamtu.atelier.bank.service;
 import com.baamtu.atelier.bank.config.Constants;
 import com.baamtu.atelier.bank.domain.Authority;
 import com.baamtu.atelier.bank.domain.User;
-import com.baamtu.atelier.bank.repository.AuthorityRepository;
 import com.baamtu.atelier.bank.repository.UserRepository;
 import com.baamtu.atelier.bank.security.AuthoritiesConstants;
 import com.baamtu.atelier.bank.security.SecurityUtils;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import com.baamtu.atelier.bank.service.dto.UserDTO;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.PrintWriter;
+import com.baamtu.atelier.bank.service.mapper.UserMapper;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -40,20 +37,28 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final AuthorityRepository authorityRepository;
+    private final AuthorityRegistry authorityRegistry;
 
     private final CacheManager cacheManager;
 
+    private final UserMapper userMapper;
+
+    private final MailOutboxService mailOutboxService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
-        AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        AuthorityRegistry authorityRegistry,
+        CacheManager cacheManager,
+        UserMapper userMapper,
+        MailOutboxService mailOutboxService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.authorityRepository = authorityRepository;
+        this.authorityRegistry = authorityRegistry;
         this.cacheManager = cacheManager;
+        this.userMapper = userMapper;
+        this.mailOutboxService = mailOutboxService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -96,6 +101,7 @@ public class UserService {
                 user -> {
                     user.setResetKey(RandomUtil.generateResetKey());
                     user.setResetDate(Instant.now());
+                    mailOutboxService.enqueuePasswordResetEmail(user);
                     this.clearUserCaches(user);
                     return user;
                 }
@@ -140,9 +146,10 @@ public class UserService {
         // new user gets registration key
         newUser.setActivationKey(RandomUtil.generateActivationKey());
         Set<Authority> authorities = new HashSet<>();
-        authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
+        authorityRegistry.resolve(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
+        mailOutboxService.enqueueActivationEmail(newUser);
         this.clearUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
@@ -173,39 +180,16 @@ public class UserService {
             user.setLangKey(userDTO.getLangKey());
         }
 
-        String generatedPwd = RandomUtil.generatePassword();
-        try (PrintWriter writer = new PrintWriter(new FileWriter("usersPasswords.csv", true))) {
-            StringBuilder sb = new StringBuilder();
-
-            sb.append(userDTO.getLogin().toLowerCase());
-            sb.append(',');
-            sb.append(generatedPwd);
-            sb.append('\n');
-
-            writer.write(sb.toString());
-
-            System.out.println("done!");
-        } catch (IOException i) {
-            i.printStackTrace();
-        }
-        System.out.println(generatedPwd);
-        log.debug("new user password", generatedPwd);
-        user.setPassword(passwordEncoder.encode(generatedPwd));
-
-        //user.setResetKey(RandomUtil.generateResetKey());
-        //user.setResetDate(Instant.now());
+        // The password is never shown to anyone: the creation email links to the page where the user chooses one
+        user.setPassword(passwordEncoder.encode(RandomUtil.generatePassword()));
+        user.setResetKey(RandomUtil.generateResetKey());
+        user.setResetDate(Instant.now());
         user.setActivated(true);
         if (userDTO.getAuthorities() != null) {
-            Set<Authority> authorities = userDTO
-                .getAuthorities()
-                .stream()
-                .map(authorityRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toSet());
-            user.setAuthorities(authorities);
+            user.setAuthorities(authorityRegistry.resolveAll(userDTO.getAuthorities()));
         }
         userRepository.save(user);
+        mailOutboxService.enqueueCreationEmail(user);
         this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
@@ -236,13 +220,7 @@ public class UserService {
                     user.setLangKey(userDTO.getLangKey());
                     Set<Authority> managedAuthorities = user.getAuthorities();
                     managedAuthorities.clear();
-                    userDTO
-                        .getAuthorities()
-                        .stream()
-                        .map(authorityRepository::findById)
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
-                        .forEach(managedAuthorities::add);
+                    managedAuthorities.addAll(authorityRegistry.resolveAll(userDTO.getAuthorities()));
                     this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
@@ -322,14 +300,34 @@ public class UserService {
             );
     }
 
+    /**
+     * Replace the password hash of a user with a new hash of the same password, e.g. made with another cost.
+     *
+     * @param login the login of the user.
+     * @param encryptedPassword the new hash.
+     */
+    public void updatePasswordHash(String login, String encryptedPassword) {
+        userRepository
+            .findOneByLogin(login)
+            .ifPresent(
+                user -> {
+                    user.setPassword(encryptedPassword);
+                    this.clearUserCaches(user);
+                    log.debug("Re-hashed password for User: {}", user);
+                }
+            );
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(AdminUserDTO::new);
+        Page<User> users = userRepository.findAll(pageable);
+        return new PageImpl<>(userMapper.usersToAdminUserDTOs(users.getContent()), users.getPageable(), users.getTotalElements());
     }
 
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
+        Page<User> users = userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable);
+        return new PageImpl<>(userMapper.usersToUserDTOs(users.getContent()), users.getPageable(), users.getTotalElements());
     }
 
     @Transactional(readOnly = true)
@@ -364,9 +362,8 @@ public class UserService {
      * Gets a list of all the authorities.
      * @return a list of all the authorities.
      */
-    @Transactional(readOnly = true)
     public List<String> getAuthorities() {
-        return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
+        return authorityRegistry.getNames();
     }
 
     private void clearUserCaches(User user) {
@@ -4,8 +4,8 @@ import com.baamtu.atelier.bank.config.Constants;
 import com.baamtu.atelier.bank.domain.Authority;
 import com.baamtu.atelier.bank.domain.User;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.validation.constraints.*;
 
 /**
@@ -53,6 +53,17 @@ public class AdminUserDTO {
     }
 
     public AdminUserDTO(User user) {
+        this(user, authorityNames(user.getAuthorities()));
+    }
+
+    /**
+     * Build the DTO of a user whose authority names are already known, so that users sharing the same authorities can
+     * share the same set of names.
+     *
+     * @param user the user.
+     * @param authorities the names of the authorities of the user.
+     */
+    public AdminUserDTO(User user, Set<String> authorities) {
         this.id = user.getId();
         this.login = user.getLogin();
         this.firstName = user.getFirstName();
@@ -65,7 +76,21 @@ public class AdminUserDTO {
         this.createdDate = user.getCreatedDate();
         this.lastModifiedBy = user.getLastModifiedBy();
         this.lastModifiedDate = user.getLastModifiedDate();
-        this.authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+        this.authorities = authorities;
+    }
+
+    /**
+     * Get the names of the given authorities.
+     *
+     * @param authorities the authorities.
+     * @return a new mutable set of their names.
+     */
+    public static Set<String> authorityNames(Set<Authority> authorities) {
+        Set<String> names = new HashSet<>(Math.max(4, authorities.size() * 4 / 3 + 1));
+        for (Authority authority : authorities) {
+            names.add(authority.getName());
+        }
+        return names;
     }
 
     public Long getId() {
@@ -0,0 +1,51 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the free time slots of an advisor.
+ */
+public class AdvisorAvailabilityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long advisorId;
+
+    private List<TimeSlotDTO> freeSlots = new ArrayList<>();
+
+    public AdvisorAvailabilityDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AdvisorAvailabilityDTO(Long advisorId, List<TimeSlotDTO> freeSlots) {
+        this.advisorId = advisorId;
+        this.freeSlots = freeSlots;
+    }
+
+    public Long getAdvisorId() {
+        return advisorId;
+    }
+
+    public void setAdvisorId(Long advisorId) {
+        this.advisorId = advisorId;
+    }
+
+    public List<TimeSlotDTO> getFreeSlots() {
+        return freeSlots;
+    }
+
+    public void setFreeSlots(List<TimeSlotDTO> freeSlots) {
+        this.freeSlots = freeSlots;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AdvisorAvailabilityDTO{" +
+            "advisorId=" + getAdvisorId() +
+            ", freeSlots=" + getFreeSlots() +
+            "}";
+    }
+}
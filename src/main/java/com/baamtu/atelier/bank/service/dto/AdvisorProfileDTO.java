@@ -0,0 +1,142 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.enumeration.Gender;
+import java.io.Serializable;
+
+/**
+ * A DTO representing the profile of the current advisor: the advisor, with the names and email of its user and the name of its agency.
+ */
+public class AdvisorProfileDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Gender gender;
+
+    private String telephone;
+
+    private Long userId;
+
+    private String login;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long agencyId;
+
+    private String agencyName;
+
+    public AdvisorProfileDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AdvisorProfileDTO(Advisor advisor) {
+        this.id = advisor.getId();
+        this.gender = advisor.getGender();
+        this.telephone = advisor.getTelephone();
+        this.userId = advisor.getUser().getId();
+        this.login = advisor.getUser().getLogin();
+        this.firstName = advisor.getUser().getFirstName();
+        this.lastName = advisor.getUser().getLastName();
+        this.email = advisor.getUser().getEmail();
+        if (advisor.getAgency() != null) {
+            this.agencyId = advisor.getAgency().getId();
+            this.agencyName = advisor.getAgency().getName();
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public String getTelephone() {
+        return telephone;
+    }
+
+    public void setTelephone(String telephone) {
+        this.telephone = telephone;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Long getAgencyId() {
+        return agencyId;
+    }
+
+    public void setAgencyId(Long agencyId) {
+        this.agencyId = agencyId;
+    }
+
+    public String getAgencyName() {
+        return agencyName;
+    }
+
+    public void setAgencyName(String agencyName) {
+        this.agencyName = agencyName;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AdvisorProfileDTO{" +
+            "id=" + getId() +
+            ", login='" + getLogin() + "'" +
+            ", agencyId=" + getAgencyId() +
+            "}";
+    }
+}
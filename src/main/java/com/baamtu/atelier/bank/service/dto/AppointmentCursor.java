@@ -0,0 +1,87 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * An opaque position in the {@code (startDate, id)} ordering of appointments, used by the keyset pagination.
+ */
+public final class AppointmentCursor {
+
+    private static final char SEPARATOR = ',';
+
+    private final Instant startDate;
+
+    private final Long id;
+
+    public AppointmentCursor(Instant startDate, Long id) {
+        this.startDate = Objects.requireNonNull(startDate);
+        this.id = Objects.requireNonNull(id);
+    }
+
+    public static AppointmentCursor of(AppointmentDTO appointmentDTO) {
+        return new AppointmentCursor(appointmentDTO.getStartDate(), appointmentDTO.getId());
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param value the encoded cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the value is not a valid cursor.
+     */
+    public static AppointmentCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+            return new AppointmentCursor(Instant.parse(decoded.substring(0, separator)), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        String raw = startDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AppointmentCursor)) {
+            return false;
+        }
+        AppointmentCursor that = (AppointmentCursor) o;
+        return startDate.equals(that.startDate) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(startDate, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentCursor{" +
+            "startDate=" + startDate +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,88 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk import of appointments.
+ */
+public class AppointmentImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long received;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    private long durationMillis;
+
+    private double rowsPerSecond;
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * @return the first errors, the total number of rejected rows being {@link #getRejected()}.
+     */
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentImportResultDTO{" +
+            "received=" + getReceived() +
+            ", imported=" + getImported() +
+            ", rejected=" + getRejected() +
+            ", durationMillis=" + getDurationMillis() +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            "}";
+    }
+}
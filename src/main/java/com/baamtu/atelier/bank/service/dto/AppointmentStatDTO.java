@@ -0,0 +1,96 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A DTO representing the number of appointments with a given status on a given day, for an advisor or an agency.
+ */
+public class AppointmentStatDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate date;
+
+    private Long advisorId;
+
+    private Long agencyId;
+
+    private String status;
+
+    private long count;
+
+    public AppointmentStatDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AppointmentStatDTO(LocalDate date, Long advisorId, Long agencyId, String status, long count) {
+        this.date = date;
+        this.advisorId = advisorId;
+        this.agencyId = agencyId;
+        this.status = status;
+        this.count = count;
+    }
+
+    public AppointmentStatDTO(LocalDate date, Long agencyId, String status, Long count) {
+        this(date, null, agencyId, status, count);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * @return the id of the advisor, {@code null} for the statistics of a whole agency.
+     */
+    public Long getAdvisorId() {
+        return advisorId;
+    }
+
+    public void setAdvisorId(Long advisorId) {
+        this.advisorId = advisorId;
+    }
+
+    public Long getAgencyId() {
+        return agencyId;
+    }
+
+    public void setAgencyId(Long agencyId) {
+        this.agencyId = agencyId;
+    }
+
+    /**
+     * @return the status of the appointments, {@code PENDING} for the ones without status.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentStatDTO{" +
+            "date='" + getDate() + "'" +
+            ", advisorId=" + getAdvisorId() +
+            ", agencyId=" + getAgencyId() +
+            ", status='" + getStatus() + "'" +
+            ", count=" + getCount() +
+            "}";
+    }
+}
@@ -0,0 +1,258 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import com.baamtu.atelier.bank.repository.AppointmentSummary;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A flat read model of an {@link com.baamtu.atelier.bank.domain.Appointment}, with the names of its manager and
+ * advisor, copied from an {@link AppointmentSummary} loaded in a single statement by the {@code AppointmentRepository}.
+ */
+public class AppointmentSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Instant created;
+
+    private LocalDate appointementDate;
+
+    private Instant startDate;
+
+    private Instant endDate;
+
+    private String title;
+
+    private String description;
+
+    private Status status;
+
+    private Instant statusChangeDate;
+
+    private String commentary;
+
+    private Long managerId;
+
+    private String managerLogin;
+
+    private String managerFirstName;
+
+    private String managerLastName;
+
+    private Long advisorId;
+
+    private String advisorLogin;
+
+    private String advisorFirstName;
+
+    private String advisorLastName;
+
+    private Long agencyId;
+
+    private String agencyName;
+
+    public AppointmentSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AppointmentSummaryDTO(AppointmentSummary summary) {
+        this.id = summary.getId();
+        this.created = summary.getCreated();
+        this.appointementDate = summary.getAppointementDate();
+        this.startDate = summary.getStartDate();
+        this.endDate = summary.getEndDate();
+        this.title = summary.getTitle();
+        this.description = summary.getDescription();
+        this.status = summary.getStatus();
+        this.statusChangeDate = summary.getStatusChangeDate();
+        this.commentary = summary.getCommentary();
+        this.managerId = summary.getManagerId();
+        this.managerLogin = summary.getManagerLogin();
+        this.managerFirstName = summary.getManagerFirstName();
+        this.managerLastName = summary.getManagerLastName();
+        this.advisorId = summary.getAdvisorId();
+        this.advisorLogin = summary.getAdvisorLogin();
+        this.advisorFirstName = summary.getAdvisorFirstName();
+        this.advisorLastName = summary.getAdvisorLastName();
+        this.agencyId = summary.getAgencyId();
+        this.agencyName = summary.getAgencyName();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+
+    public LocalDate getAppointementDate() {
+        return appointementDate;
+    }
+
+    public void setAppointementDate(LocalDate appointementDate) {
+        this.appointementDate = appointementDate;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Instant getStatusChangeDate() {
+        return statusChangeDate;
+    }
+
+    public void setStatusChangeDate(Instant statusChangeDate) {
+        this.statusChangeDate = statusChangeDate;
+    }
+
+    public String getCommentary() {
+        return commentary;
+    }
+
+    public void setCommentary(String commentary) {
+        this.commentary = commentary;
+    }
+
+    public Long getManagerId() {
+        return managerId;
+    }
+
+    public void setManagerId(Long managerId) {
+        this.managerId = managerId;
+    }
+
+    public String getManagerLogin() {
+        return managerLogin;
+    }
+
+    public void setManagerLogin(String managerLogin) {
+        this.managerLogin = managerLogin;
+    }
+
+    public String getManagerFirstName() {
+        return managerFirstName;
+    }
+
+    public void setManagerFirstName(String managerFirstName) {
+        this.managerFirstName = managerFirstName;
+    }
+
+    public String getManagerLastName() {
+        return managerLastName;
+    }
+
+    public void setManagerLastName(String managerLastName) {
+        this.managerLastName = managerLastName;
+    }
+
+    public Long getAdvisorId() {
+        return advisorId;
+    }
+
+    public void setAdvisorId(Long advisorId) {
+        this.advisorId = advisorId;
+    }
+
+    public String getAdvisorLogin() {
+        return advisorLogin;
+    }
+
+    public void setAdvisorLogin(String advisorLogin) {
+        this.advisorLogin = advisorLogin;
+    }
+
+    public String getAdvisorFirstName() {
+        return advisorFirstName;
+    }
+
+    public void setAdvisorFirstName(String advisorFirstName) {
+        this.advisorFirstName = advisorFirstName;
+    }
+
+    public String getAdvisorLastName() {
+        return advisorLastName;
+    }
+
+    public void setAdvisorLastName(String advisorLastName) {
+        this.advisorLastName = advisorLastName;
+    }
+
+    public Long getAgencyId() {
+        return agencyId;
+    }
+
+    public void setAgencyId(Long agencyId) {
+        this.agencyId = agencyId;
+    }
+
+    public String getAgencyName() {
+        return agencyName;
+    }
+
+    public void setAgencyName(String agencyName) {
+        this.agencyName = agencyName;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentSummaryDTO{" +
+            "id=" + getId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", title='" + getTitle() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", managerId=" + getManagerId() +
+            ", advisorId=" + getAdvisorId() +
+            ", agencyId=" + getAgencyId() +
+            "}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a row rejected by a bulk import.
+ */
+public class ImportErrorDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long row;
+
+    private String message;
+
+    public ImportErrorDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ImportErrorDTO(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    /**
+     * @return the index of the rejected row, starting at 0.
+     */
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportErrorDTO{" +
+            "row=" + getRow() +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,117 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.domain.enumeration.Gender;
+import java.io.Serializable;
+
+/**
+ * A DTO representing the profile of the current manager: the manager, with the names and email of its user.
+ */
+public class ManagerProfileDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Gender gender;
+
+    private String telephone;
+
+    private Long userId;
+
+    private String login;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    public ManagerProfileDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ManagerProfileDTO(Manager manager) {
+        this.id = manager.getId();
+        this.gender = manager.getGender();
+        this.telephone = manager.getTelephone();
+        this.userId = manager.getUser().getId();
+        this.login = manager.getUser().getLogin();
+        this.firstName = manager.getUser().getFirstName();
+        this.lastName = manager.getUser().getLastName();
+        this.email = manager.getUser().getEmail();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public String getTelephone() {
+        return telephone;
+    }
+
+    public void setTelephone(String telephone) {
+        this.telephone = telephone;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ManagerProfileDTO{" +
+            "id=" + getId() +
+            ", login='" + getLogin() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.constraints.*;
+
+/**
+ * A DTO representing a status change requested for several appointments at once.
+ */
+public class StatusTransitionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_IDS = 1000;
+
+    @NotNull
+    @Size(min = 1, max = MAX_IDS)
+    private List<@NotNull Long> ids = new ArrayList<>();
+
+    @NotNull
+    private Status status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StatusTransitionDTO{" +
+            "ids=" + getIds() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
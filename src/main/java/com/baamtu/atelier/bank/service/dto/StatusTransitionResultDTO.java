@@ -0,0 +1,88 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a {@link StatusTransitionDTO}.
+ */
+public class StatusTransitionResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<Long> updated = new ArrayList<>();
+
+    private List<Rejection> rejected = new ArrayList<>();
+
+    public List<Long> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<Long> updated) {
+        this.updated = updated;
+    }
+
+    public List<Rejection> getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(List<Rejection> rejected) {
+        this.rejected = rejected;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "StatusTransitionResultDTO{" +
+            "updated=" + getUpdated() +
+            ", rejected=" + getRejected() +
+            "}";
+    }
+
+    /**
+     * An appointment whose status was left unchanged.
+     */
+    public static class Rejection implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        private String reason;
+
+        public Rejection() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public Rejection(Long id, String reason) {
+            this.id = id;
+            this.reason = reason;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "Rejection{" +
+                "id=" + getId() +
+                ", reason='" + getReason() + "'" +
+                "}";
+        }
+    }
+}
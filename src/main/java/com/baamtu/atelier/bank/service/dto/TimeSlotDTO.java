@@ -0,0 +1,68 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A DTO representing a {@code [start, end)} time slot.
+ */
+public class TimeSlotDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Instant start;
+
+    private Instant end;
+
+    public TimeSlotDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TimeSlotDTO(Instant start, Instant end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public void setEnd(Instant end) {
+        this.end = end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeSlotDTO)) {
+            return false;
+        }
+        TimeSlotDTO that = (TimeSlotDTO) o;
+        return Objects.equals(start, that.start) && Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TimeSlotDTO{" +
+            "start='" + getStart() + "'" +
+            ", end='" + getEnd() + "'" +
+            "}";
+    }
+}
@@ -5,7 +5,6 @@ import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import com.baamtu.atelier.bank.service.dto.UserDTO;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -21,62 +20,99 @@ import org.springframework.stereotype.Service;
 public class UserMapper {
 
     public List<UserDTO> usersToUserDTOs(List<User> users) {
-        return users.stream().filter(Objects::nonNull).map(this::userToUserDTO).collect(Collectors.toList());
+        List<UserDTO> userDTOs = new ArrayList<>(users.size());
+        for (User user : users) {
+            if (user != null) {
+                userDTOs.add(userToUserDTO(user));
+            }
+        }
+        return userDTOs;
     }
 
     public UserDTO userToUserDTO(User user) {
         return new UserDTO(user);
     }
 
+    /**
+     * Map users to DTOs in bulk. The users having the same authorities share one unmodifiable set of authority names.
+     *
+     * @param users the users to map.
+     * @return the DTOs of the non null users.
+     */
     public List<AdminUserDTO> usersToAdminUserDTOs(List<User> users) {
-        return users.stream().filter(Objects::nonNull).map(this::userToAdminUserDTO).collect(Collectors.toList());
+        List<AdminUserDTO> userDTOs = new ArrayList<>(users.size());
+        Map<Set<Authority>, Set<String>> authorityNames = new HashMap<>();
+        for (User user : users) {
+            if (user != null) {
+                Set<String> names = authorityNames.computeIfAbsent(user.getAuthorities(), UserMapper::sharedAuthorityNames);
+                userDTOs.add(new AdminUserDTO(user, names));
+            }
+        }
+        return userDTOs;
     }
 
     public AdminUserDTO userToAdminUserDTO(User user) {
         return new AdminUserDTO(user);
     }
 
+    /**
+     * Map DTOs to users in bulk. The users having the same authority share one {@link Authority} instance.
+     *
+     * @param userDTOs the DTOs to map.
+     * @return the users of the non null DTOs.
+     */
     public List<User> userDTOsToUsers(List<AdminUserDTO> userDTOs) {
-        return userDTOs.stream().filter(Objects::nonNull).map(this::userDTOToUser).collect(Collectors.toList());
+        List<User> users = new ArrayList<>(userDTOs.size());
+        Map<String, Authority> authorities = new HashMap<>();
+        for (AdminUserDTO userDTO : userDTOs) {
+            if (userDTO != null) {
+                users.add(userDTOToUser(userDTO, authorities));
+            }
+        }
+        return users;
     }
 
     public User userDTOToUser(AdminUserDTO userDTO) {
         if (userDTO == null) {
             return null;
         } else {
-            User user = new User();
-            user.setId(userDTO.getId());
-            user.setLogin(userDTO.getLogin());
-            user.setFirstName(userDTO.getFirstName());
-            user.setLastName(userDTO.getLastName());
-            user.setEmail(userDTO.getEmail());
-            user.setImageUrl(userDTO.getImageUrl());
-            user.setActivated(userDTO.isActivated());
-            user.setLangKey(userDTO.getLangKey());
-            Set<Authority> authorities = this.authoritiesFromStrings(userDTO.getAuthorities());
-            user.setAuthorities(authorities);
-            return user;
+            return userDTOToUser(userDTO, new HashMap<>());
         }
     }
 
-    private Set<Authority> authoritiesFromStrings(Set<String> authoritiesAsString) {
-        Set<Authority> authorities = new HashSet<>();
-
-        if (authoritiesAsString != null) {
-            authorities =
-                authoritiesAsString
-                    .stream()
-                    .map(
-                        string -> {
-                            Authority auth = new Authority();
-                            auth.setName(string);
-                            return auth;
-                        }
-                    )
-                    .collect(Collectors.toSet());
+    private User userDTOToUser(AdminUserDTO userDTO, Map<String, Authority> authorities) {
+        User user = new User();
+        user.setId(userDTO.getId());
+        user.setLogin(userDTO.getLogin());
+        user.setFirstName(userDTO.getFirstName());
+        user.setLastName(userDTO.getLastName());
+        user.setEmail(userDTO.getEmail());
+        user.setImageUrl(userDTO.getImageUrl());
+        user.setActivated(userDTO.isActivated());
+        user.setLangKey(userDTO.getLangKey());
+        user.setAuthorities(this.authoritiesFromStrings(userDTO.getAuthorities(), authorities));
+        return user;
+    }
+
+    private Set<Authority> authoritiesFromStrings(Set<String> authoritiesAsString, Map<String, Authority> authorities) {
+        if (authoritiesAsString == null) {
+            return new HashSet<>();
+        }
+        Set<Authority> userAuthorities = new HashSet<>(Math.max(4, authoritiesAsString.size() * 4 / 3 + 1));
+        for (String name : authoritiesAsString) {
+            userAuthorities.add(authorities.computeIfAbsent(name, UserMapper::authority));
         }
+        return userAuthorities;
+    }
+
+    private static Authority authority(String name) {
+        Authority authority = new Authority();
+        authority.setName(name);
+        return authority;
+    }
 
-        return authorities;
+    private static Set<String> sharedAuthorityNames(Set<Authority> authorities) {
+        return Collections.unmodifiableSet(AdminUserDTO.authorityNames(authorities));
     }
 
     public User userFromId(Long id) {
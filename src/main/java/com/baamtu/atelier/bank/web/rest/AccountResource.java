@@ -3,7 +3,6 @@ package com.baamtu.atelier.bank.web.rest;
 import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.repository.UserRepository;
 import com.baamtu.atelier.bank.security.SecurityUtils;
-import com.baamtu.atelier.bank.service.MailService;
 import com.baamtu.atelier.bank.service.UserService;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import com.baamtu.atelier.bank.service.dto.PasswordChangeDTO;
@@ -40,12 +39,9 @@ public class AccountResource {
 
     private final UserService userService;
 
-    private final MailService mailService;
-
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    public AccountResource(UserRepository userRepository, UserService userService) {
         this.userRepository = userRepository;
         this.userService = userService;
-        this.mailService = mailService;
     }
 
     /**
@@ -62,8 +58,7 @@ public class AccountResource {
         if (isPasswordLengthInvalid(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
-        User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
-        mailService.sendActivationEmail(user);
+        userService.registerUser(managedUserVM, managedUserVM.getPassword());
     }
 
     /**
@@ -157,9 +152,7 @@ public class AccountResource {
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
         Optional<User> user = userService.requestPasswordReset(mail);
-        if (user.isPresent()) {
-            mailService.sendPasswordResetMail(user.get());
-        } else {
+        if (user.isEmpty()) {
             // Pretend the request has been successful to prevent checking which emails really exist
             // but log that an invalid attempt has been made
             log.warn("Password reset requested for non existing mail");
@@ -1,9 +1,13 @@
 package com.baamtu.atelier.bank.web.rest;
 
-import com.baamtu.atelier.bank.domain.Advisor;
 import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.security.SecurityUtils;
 import com.baamtu.atelier.bank.service.AdvisorService;
+import com.baamtu.atelier.bank.service.ProfileCache;
+import com.baamtu.atelier.bank.service.ReferenceListCache;
+import com.baamtu.atelier.bank.service.ReferenceListCache.VersionedList;
 import com.baamtu.atelier.bank.service.dto.AdvisorDTO;
+import com.baamtu.atelier.bank.service.dto.AdvisorProfileDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -15,8 +19,10 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -38,9 +44,20 @@ public class AdvisorResource {
 
     private final AdvisorRepository advisorRepository;
 
-    public AdvisorResource(AdvisorService advisorService, AdvisorRepository advisorRepository) {
+    private final ReferenceListCache referenceListCache;
+
+    private final ProfileCache profileCache;
+
+    public AdvisorResource(
+        AdvisorService advisorService,
+        AdvisorRepository advisorRepository,
+        ReferenceListCache referenceListCache,
+        ProfileCache profileCache
+    ) {
         this.advisorService = advisorService;
         this.advisorRepository = advisorRepository;
+        this.referenceListCache = referenceListCache;
+        this.profileCache = profileCache;
     }
 
     /**
@@ -136,29 +153,40 @@ public class AdvisorResource {
     /**
      * {@code GET  /advisors} : get all the advisors.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of advisors in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of advisors in body,
+     * or with status {@code 304 (Not Modified)} if the list did not change since the version in {@code If-None-Match}.
      */
     @GetMapping("/advisors")
-    public List<AdvisorDTO> getAllAdvisors() {
+    public ResponseEntity<List<AdvisorDTO>> getAllAdvisors() {
         log.debug("REST request to get all Advisors");
-        return advisorService.findAll();
+        VersionedList<AdvisorDTO> advisors = referenceListCache.get(ReferenceListCache.ADVISORS, advisorService::findAll);
+        return ResponseEntity
+            .ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(advisors.getVersion())
+            .body(advisors.getContent());
     }
 
     @GetMapping("/advisors/user")
-    public Advisor getCurrentUser() {
+    public AdvisorProfileDTO getCurrentUser() {
         log.debug("REST request to get the current User");
-        return advisorRepository.findByUserIsCurrentUser();
+        return SecurityUtils.getCurrentUserLogin().flatMap(profileCache::findAdvisorProfile).orElse(null);
     }
 
     /**
      * {@code GET  /advisors/:id} : get the "id" advisor.
      *
      * @param id the id of the advisorDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the advisorDTO, or with status {@code 404 (Not Found)}.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the advisorDTO, or with status {@code 404 (Not Found)},
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the advisor did not change.
      */
     @GetMapping("/advisors/{id}")
-    public ResponseEntity<AdvisorDTO> getAdvisor(@PathVariable Long id) {
+    public ResponseEntity<AdvisorDTO> getAdvisor(@PathVariable Long id, ServletWebRequest request) {
         log.debug("REST request to get Advisor : {}", id);
+        if (ConditionalGet.isEntityNotModified(request, id, advisorRepository.findModificationStampById(id))) {
+            return null;
+        }
         Optional<AdvisorDTO> advisorDTO = advisorService.findOne(id);
         return ResponseUtil.wrapOrNotFound(advisorDTO);
     }
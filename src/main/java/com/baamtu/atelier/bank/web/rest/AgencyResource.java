@@ -1,11 +1,17 @@
 package com.baamtu.atelier.bank.web.rest;
 
 import com.baamtu.atelier.bank.repository.AgencyRepository;
+import com.baamtu.atelier.bank.service.AgencyAvailabilityService;
 import com.baamtu.atelier.bank.service.AgencyService;
+import com.baamtu.atelier.bank.service.ReferenceListCache;
+import com.baamtu.atelier.bank.service.ReferenceListCache.VersionedList;
+import com.baamtu.atelier.bank.service.dto.AdvisorAvailabilityDTO;
 import com.baamtu.atelier.bank.service.dto.AgencyDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -14,8 +20,10 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -30,6 +38,8 @@ public class AgencyResource {
 
     private static final String ENTITY_NAME = "agency";
 
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(31);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -37,9 +47,20 @@ public class AgencyResource {
 
     private final AgencyRepository agencyRepository;
 
-    public AgencyResource(AgencyService agencyService, AgencyRepository agencyRepository) {
+    private final AgencyAvailabilityService agencyAvailabilityService;
+
+    private final ReferenceListCache referenceListCache;
+
+    public AgencyResource(
+        AgencyService agencyService,
+        AgencyRepository agencyRepository,
+        AgencyAvailabilityService agencyAvailabilityService,
+        ReferenceListCache referenceListCache
+    ) {
         this.agencyService = agencyService;
         this.agencyRepository = agencyRepository;
+        this.agencyAvailabilityService = agencyAvailabilityService;
+        this.referenceListCache = referenceListCache;
     }
 
     /**
@@ -135,27 +156,70 @@ public class AgencyResource {
     /**
      * {@code GET  /agencies} : get all the agencies.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of agencies in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of agencies in body,
+     * or with status {@code 304 (Not Modified)} if the list did not change since the version in {@code If-None-Match}.
      */
     @GetMapping("/agencies")
-    public List<AgencyDTO> getAllAgencies() {
+    public ResponseEntity<List<AgencyDTO>> getAllAgencies() {
         log.debug("REST request to get all Agencies");
-        return agencyService.findAll();
+        VersionedList<AgencyDTO> agencies = referenceListCache.get(ReferenceListCache.AGENCIES, agencyService::findAll);
+        // The 304 is sent by Spring MVC when the ETag matches
+        return ResponseEntity
+            .ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(agencies.getVersion())
+            .body(agencies.getContent());
     }
 
     /**
      * {@code GET  /agencies/:id} : get the "id" agency.
      *
      * @param id the id of the agencyDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the agencyDTO, or with status {@code 404 (Not Found)}.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the agencyDTO, or with status {@code 404 (Not Found)},
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the agency did not change.
      */
     @GetMapping("/agencies/{id}")
-    public ResponseEntity<AgencyDTO> getAgency(@PathVariable Long id) {
+    public ResponseEntity<AgencyDTO> getAgency(@PathVariable Long id, ServletWebRequest request) {
         log.debug("REST request to get Agency : {}", id);
+        if (ConditionalGet.isEntityNotModified(request, id, agencyRepository.findModificationStampById(id))) {
+            return null;
+        }
         Optional<AgencyDTO> agencyDTO = agencyService.findOne(id);
         return ResponseUtil.wrapOrNotFound(agencyDTO);
     }
 
+    /**
+     * {@code GET  /agencies/:id/availability} : get the free slots of the advisors of the "id" agency.
+     *
+     * @param id the id of the agency.
+     * @param from the inclusive start of the search window.
+     * @param to the exclusive end of the search window, at most 31 days after {@code from}.
+     * @param duration the minimum duration of a free slot, in ISO-8601 format (e.g. {@code PT30M}).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the free slots of each advisor in body,
+     * or with status {@code 400 (Bad Request)} if the window or the duration is not valid,
+     * or with status {@code 404 (Not Found)} if the agency is not found.
+     */
+    @GetMapping("/agencies/{id}/availability")
+    public ResponseEntity<List<AdvisorAvailabilityDTO>> getAgencyAvailability(
+        @PathVariable Long id,
+        @RequestParam Instant from,
+        @RequestParam Instant to,
+        @RequestParam Duration duration
+    ) {
+        log.debug("REST request to get the availability of Agency : {} during [{}, {}) for {}", id, from, to, duration);
+        if (!from.isBefore(to) || Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new BadRequestAlertException("Invalid time range", ENTITY_NAME, "rangeinvalid");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new BadRequestAlertException("Invalid duration", ENTITY_NAME, "durationinvalid");
+        }
+        if (!agencyRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(agencyAvailabilityService.findAvailability(id, from, to, duration));
+    }
+
     /**
      * {@code DELETE  /agencies/:id} : delete the "id" agency.
      *
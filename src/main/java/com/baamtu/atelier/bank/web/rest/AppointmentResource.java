@@ -1,15 +1,32 @@
 package com.baamtu.atelier.bank.web.rest;
 
-import com.baamtu.atelier.bank.domain.Appointment;
 import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.repository.AppointmentSummary;
+import com.baamtu.atelier.bank.service.AppointmentBookingService;
+import com.baamtu.atelier.bank.service.AppointmentExportService;
+import com.baamtu.atelier.bank.service.AppointmentImportService;
+import com.baamtu.atelier.bank.service.AppointmentReadService;
 import com.baamtu.atelier.bank.service.AppointmentService;
+import com.baamtu.atelier.bank.service.AppointmentStatusService;
+import com.baamtu.atelier.bank.service.dto.AppointmentCursor;
 import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.AppointmentImportResultDTO;
+import com.baamtu.atelier.bank.service.dto.AppointmentSummaryDTO;
+import com.baamtu.atelier.bank.service.dto.StatusTransitionDTO;
+import com.baamtu.atelier.bank.service.dto.StatusTransitionResultDTO;
+import com.baamtu.atelier.bank.service.dto.TimeSlotDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -17,10 +34,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -37,15 +58,40 @@ public class AppointmentResource {
 
     private static final String ENTITY_NAME = "appointment";
 
+    private static final Instant EXPORT_END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final AppointmentService appointmentService;
 
+    private final AppointmentBookingService appointmentBookingService;
+
+    private final AppointmentReadService appointmentReadService;
+
+    private final AppointmentExportService appointmentExportService;
+
+    private final AppointmentImportService appointmentImportService;
+
+    private final AppointmentStatusService appointmentStatusService;
+
     private final AppointmentRepository appointmentRepository;
 
-    public AppointmentResource(AppointmentService appointmentService, AppointmentRepository appointmentRepository) {
+    public AppointmentResource(
+        AppointmentService appointmentService,
+        AppointmentBookingService appointmentBookingService,
+        AppointmentReadService appointmentReadService,
+        AppointmentExportService appointmentExportService,
+        AppointmentImportService appointmentImportService,
+        AppointmentStatusService appointmentStatusService,
+        AppointmentRepository appointmentRepository
+    ) {
         this.appointmentService = appointmentService;
+        this.appointmentBookingService = appointmentBookingService;
+        this.appointmentReadService = appointmentReadService;
+        this.appointmentExportService = appointmentExportService;
+        this.appointmentImportService = appointmentImportService;
+        this.appointmentStatusService = appointmentStatusService;
         this.appointmentRepository = appointmentRepository;
     }
 
@@ -53,7 +99,8 @@ public class AppointmentResource {
      * {@code POST  /appointments} : Create a new appointment.
      *
      * @param appointmentDTO the appointmentDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new appointmentDTO, or with status {@code 400 (Bad Request)} if the appointment has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new appointmentDTO, or with status {@code 400 (Bad Request)} if the appointment has already an ID,
+     * or with status {@code 409 (Conflict)} if the advisor or the manager is already booked during this time slot.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/appointments")
@@ -62,13 +109,58 @@ public class AppointmentResource {
         if (appointmentDTO.getId() != null) {
             throw new BadRequestAlertException("A new appointment cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        AppointmentDTO result = appointmentService.save(appointmentDTO);
+        AppointmentDTO result = appointmentBookingService.save(appointmentDTO);
         return ResponseEntity
             .created(new URI("/api/appointments/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /appointments/import} : Import appointments in bulk.
+     * <p>
+     * Valid rows are inserted in batches, invalid ones are reported with their index and skipped.
+     *
+     * @param body the JSON array of appointmentDTOs to import.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import result.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/appointments/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AppointmentImportResultDTO> importAppointments(InputStream body) throws IOException {
+        log.debug("REST request to import Appointments");
+        AppointmentImportResultDTO result = appointmentImportService.importAppointments(body);
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + ".appointment.imported", String.valueOf(result.getImported())))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /appointments/status} : Change the status of many appointments at once.
+     * <p>
+     * The allowed transitions are applied with a single update; the other appointments are left unchanged and
+     * reported with the reason.
+     *
+     * @param statusTransitionDTO the ids of the appointments and their new status.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated and rejected ids,
+     * or with status {@code 400 (Bad Request)} if the statusTransitionDTO is not valid.
+     */
+    @PostMapping("/appointments/status")
+    public ResponseEntity<StatusTransitionResultDTO> transitionAppointmentStatus(
+        @Valid @RequestBody StatusTransitionDTO statusTransitionDTO
+    ) {
+        log.debug("REST request to change the status of Appointments : {}", statusTransitionDTO);
+        StatusTransitionResultDTO result = appointmentStatusService.transition(
+            statusTransitionDTO.getIds(),
+            statusTransitionDTO.getStatus()
+        );
+        String updated = String.valueOf(result.getUpdated().size());
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + ".appointment.statusChanged", updated))
+            .body(result);
+    }
+
     /**
      * {@code PUT  /appointments/:id} : Updates an existing appointment.
      *
@@ -96,7 +188,7 @@ public class AppointmentResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        AppointmentDTO result = appointmentService.save(appointmentDTO);
+        AppointmentDTO result = appointmentBookingService.save(appointmentDTO);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appointmentDTO.getId().toString()))
@@ -131,7 +223,7 @@ public class AppointmentResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<AppointmentDTO> result = appointmentService.partialUpdate(appointmentDTO);
+        Optional<AppointmentDTO> result = appointmentBookingService.partialUpdate(appointmentDTO);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -141,41 +233,217 @@ public class AppointmentResource {
 
     /**
      * {@code GET  /appointments} : get all the appointments.
+     * <p>
+     * When the {@code after} parameter is present (empty for the first page), keyset pagination is used instead:
+     * appointments are ordered by start date and id, no total count is computed, and the cursor of the next page
+     * is given in the {@code Link} header.
      *
      * @param pageable the pagination information.
+     * @param after the cursor of the keyset pagination.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appointments in body.
      */
     @GetMapping("/appointments")
-    public ResponseEntity<List<AppointmentDTO>> getAllAppointments(Pageable pageable) {
+    public ResponseEntity<List<AppointmentDTO>> getAllAppointments(
+        Pageable pageable,
+        @RequestParam(value = "after", required = false) String after
+    ) {
+        if (after != null) {
+            return getAppointmentsAfter(after, pageable.getPageSize());
+        }
         log.debug("REST request to get a page of Appointments");
         Page<AppointmentDTO> page = appointmentService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    private ResponseEntity<List<AppointmentDTO>> getAppointmentsAfter(String after, int size) {
+        log.debug("REST request to get a slice of Appointments after : {}", after);
+        AppointmentCursor cursor;
+        try {
+            cursor = after.isEmpty() ? null : AppointmentCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Slice<AppointmentDTO> slice = appointmentReadService.findAllAfter(cursor, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            List<AppointmentDTO> content = slice.getContent();
+            String next = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("after", AppointmentCursor.of(content.get(content.size() - 1)).encode())
+                .replaceQueryParam("size", size)
+                .replaceQueryParam("page")
+                .replaceQueryParam("sort")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /appointments/:id} : get the "id" appointment.
      *
      * @param id the id of the appointmentDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appointmentDTO, or with status {@code 404 (Not Found)}.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appointmentDTO, or with status {@code 404 (Not Found)},
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the appointment did not change.
      */
     @GetMapping("/appointments/{id}")
-    public ResponseEntity<AppointmentDTO> getAppointment(@PathVariable Long id) {
+    public ResponseEntity<AppointmentDTO> getAppointment(@PathVariable Long id, ServletWebRequest request) {
         log.debug("REST request to get Appointment : {}", id);
+        if (ConditionalGet.isEntityNotModified(request, id, appointmentRepository.findModificationStampById(id))) {
+            return null;
+        }
         Optional<AppointmentDTO> appointmentDTO = appointmentService.findOne(id);
         return ResponseUtil.wrapOrNotFound(appointmentDTO);
     }
 
+    /**
+     * {@code GET  /appointments/manager/:id} : get the appointments of the "id" manager.
+     * <p>
+     * When {@code from} and {@code to} are given, only the appointments overlapping {@code [from, to)} are returned.
+     *
+     * @param id the id of the manager.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appointments, flattened with the names
+     * of their manager and advisor, in body, or {@code null} once the response is completed with status
+     * {@code 304 (Not Modified)} if the list did not change.
+     */
     @GetMapping("/appointments/manager/{id}")
-    public List<Appointment> getAppointmentByManager(@PathVariable Long id) {
-        log.debug("REST request to get appointments : {}", id);
-        return appointmentRepository.findAllByManagerUser(id);
+    public ResponseEntity<List<AppointmentSummaryDTO>> getAppointmentByManager(
+        @PathVariable Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        ServletWebRequest request
+    ) {
+        log.debug("REST request to get appointments : {}, {}, {}", id, from, to);
+        if (from == null && to == null) {
+            if (ConditionalGet.isListNotModified(request, appointmentRepository.findSummaryStampByManager(id))) {
+                return null;
+            }
+            return ResponseEntity.ok(toDtos(appointmentRepository.findSummariesByManager(id)));
+        }
+        checkRange(from, to);
+        if (ConditionalGet.isListNotModified(request, appointmentRepository.findSummaryStampByManagerInRange(id, from, to))) {
+            return null;
+        }
+        return ResponseEntity.ok(toDtos(appointmentRepository.findSummariesByManagerInRange(id, from, to)));
     }
 
+    /**
+     * {@code GET  /appointments/advisor/:id} : get the appointments of the "id" advisor.
+     * <p>
+     * When {@code from} and {@code to} are given, only the appointments overlapping {@code [from, to)} are returned.
+     *
+     * @param id the id of the advisor.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appointments, flattened with the names
+     * of their manager and advisor, in body, or {@code null} once the response is completed with status
+     * {@code 304 (Not Modified)} if the list did not change.
+     */
     @GetMapping("/appointments/advisor/{id}")
-    public List<Appointment> getAppointmentByAdvisor(@PathVariable Long id) {
-        log.debug("REST request to get appointments : {}", id);
-        return appointmentRepository.findAllByAdvisorUser(id);
+    public ResponseEntity<List<AppointmentSummaryDTO>> getAppointmentByAdvisor(
+        @PathVariable Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        ServletWebRequest request
+    ) {
+        log.debug("REST request to get appointments : {}, {}, {}", id, from, to);
+        if (from == null && to == null) {
+            if (ConditionalGet.isListNotModified(request, appointmentRepository.findSummaryStampByAdvisor(id))) {
+                return null;
+            }
+            return ResponseEntity.ok(toDtos(appointmentRepository.findSummariesByAdvisor(id)));
+        }
+        checkRange(from, to);
+        if (ConditionalGet.isListNotModified(request, appointmentRepository.findSummaryStampByAdvisorInRange(id, from, to))) {
+            return null;
+        }
+        return ResponseEntity.ok(toDtos(appointmentRepository.findSummariesByAdvisorInRange(id, from, to)));
+    }
+
+    /**
+     * {@code GET  /appointments/advisor/:id/next-free-slot} : get the first free slot of the "id" advisor.
+     * <p>
+     * Only the slots ending within {@link AppointmentBookingService#MAX_SEARCH_HORIZON} of {@code from} are searched.
+     *
+     * @param id the id of the advisor.
+     * @param from the earliest acceptable start of the slot.
+     * @param duration the duration of the slot, in ISO-8601 format.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the slot, with status
+     * {@code 404 (Not Found)} if the advisor is booked until the horizon, or with status {@code 400 (Bad Request)} if the
+     * duration is not valid.
+     */
+    @GetMapping("/appointments/advisor/{id}/next-free-slot")
+    public ResponseEntity<TimeSlotDTO> getNextFreeSlotOfAdvisor(
+        @PathVariable Long id,
+        @RequestParam("from") Instant from,
+        @RequestParam("duration") Duration duration
+    ) {
+        log.debug("REST request to get the next free slot of Advisor : {}, {}, {}", id, from, duration);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(AppointmentBookingService.MAX_SEARCH_HORIZON) > 0) {
+            throw new BadRequestAlertException("Invalid duration", ENTITY_NAME, "durationinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(appointmentBookingService.findNextFreeSlot(id, from, duration));
+    }
+
+    /**
+     * {@code GET  /appointments/export} : stream the appointments as NDJSON or CSV, for reporting.
+     * <p>
+     * The appointments can be filtered by advisor or by manager and, when {@code from} and {@code to} are given,
+     * by start date in {@code [from, to)}, as in the advisor and manager listings.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}.
+     * @param advisorId the id of the advisor.
+     * @param managerId the id of the manager.
+     * @param from the inclusive start of the window.
+     * @param to the exclusive end of the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the exported appointments in body,
+     * or with status {@code 400 (Bad Request)} if the filters are not valid.
+     */
+    @GetMapping("/appointments/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        @RequestParam(value = "advisorId", required = false) Long advisorId,
+        @RequestParam(value = "managerId", required = false) Long managerId,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to
+    ) {
+        log.debug("REST request to export Appointments : {}, {}, {}, {}, {}", format, advisorId, managerId, from, to);
+        AppointmentExportService.Format exportFormat;
+        try {
+            exportFormat = AppointmentExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid");
+        }
+        if (advisorId != null && managerId != null) {
+            throw new BadRequestAlertException("Filter by advisor or by manager, not both", ENTITY_NAME, "filterinvalid");
+        }
+        if (from != null || to != null) {
+            checkRange(from, to);
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : EXPORT_END_OF_TIME;
+        StreamingResponseBody body = out -> appointmentExportService.export(exportFormat, advisorId, managerId, start, end, out);
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"appointments." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    private static List<AppointmentSummaryDTO> toDtos(List<AppointmentSummary> summaries) {
+        return summaries.stream().map(AppointmentSummaryDTO::new).collect(Collectors.toList());
+    }
+
+    private void checkRange(Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestAlertException("Invalid date range", ENTITY_NAME, "rangeinvalid");
+        }
     }
 
     /**
@@ -187,7 +455,7 @@ public class AppointmentResource {
     @DeleteMapping("/appointments/{id}")
     public ResponseEntity<Void> deleteAppointment(@PathVariable Long id) {
         log.debug("REST request to delete Appointment : {}", id);
-        appointmentService.delete(id);
+        appointmentBookingService.delete(id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -0,0 +1,61 @@
+package com.baamtu.atelier.bank.web.rest;
+
+import com.baamtu.atelier.bank.service.AppointmentStatsService;
+import com.baamtu.atelier.bank.service.dto.AppointmentStatDTO;
+import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reading the {@link com.baamtu.atelier.bank.domain.AppointmentDailyStat}s.
+ */
+@RestController
+@RequestMapping("/api")
+public class AppointmentStatsResource {
+
+    private final Logger log = LoggerFactory.getLogger(AppointmentStatsResource.class);
+
+    private static final String ENTITY_NAME = "appointmentStat";
+
+    private static final long MAX_DAYS = 366;
+
+    private final AppointmentStatsService appointmentStatsService;
+
+    public AppointmentStatsResource(AppointmentStatsService appointmentStatsService) {
+        this.appointmentStatsService = appointmentStatsService;
+    }
+
+    /**
+     * {@code GET  /stats/appointments} : get the number of appointments per day and status.
+     *
+     * @param from the first day.
+     * @param to the last day, inclusive, at most 366 days after {@code from}.
+     * @param groupBy {@code advisor} (the default) or {@code agency}.
+     * @param agencyId the id of an agency, to restrict the statistics per advisor to its advisors.
+     * @return the list of statistics, or with status {@code 400 (Bad Request)} if the parameters are not valid.
+     */
+    @GetMapping("/stats/appointments")
+    public List<AppointmentStatDTO> getAppointmentStats(
+        @RequestParam LocalDate from,
+        @RequestParam LocalDate to,
+        @RequestParam(value = "groupBy", defaultValue = "advisor") String groupBy,
+        @RequestParam(value = "agencyId", required = false) Long agencyId
+    ) {
+        log.debug("REST request to get Appointment statistics : {}, {}, {}, {}", from, to, groupBy, agencyId);
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new BadRequestAlertException("Invalid date range", ENTITY_NAME, "rangeinvalid");
+        }
+        switch (groupBy) {
+            case "advisor":
+                return appointmentStatsService.findByAdvisor(from, to, agencyId);
+            case "agency":
+                return appointmentStatsService.findByAgency(from, to);
+            default:
+                throw new BadRequestAlertException("Invalid grouping", ENTITY_NAME, "groupbyinvalid");
+        }
+    }
+}
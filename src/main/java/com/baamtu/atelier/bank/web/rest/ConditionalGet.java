@@ -0,0 +1,63 @@
+package com.baamtu.atelier.bank.web.rest;
+
+import com.baamtu.atelier.bank.repository.ModificationStamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GETs of the REST resources, validated by a {@link ModificationStamp} read before the entities.
+ * <p>
+ * When the request validators match, the response is completed with {@code 304 (Not Modified)} and the resource
+ * returns {@code null}, without loading, mapping nor serializing anything. Otherwise the validators are already set on
+ * the response. As the stamp is read first, it is never newer than the body sent with it.
+ */
+final class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {}
+
+    /**
+     * Check the validators of an entity: an ETag, and a Last-Modified date for the clients which only send
+     * {@code If-Modified-Since}.
+     *
+     * @param request the current request.
+     * @param id the id of the entity.
+     * @param stamp the stamp of the entity, empty if it does not exist.
+     * @return {@code true} if the response has been completed with {@code 304 (Not Modified)}.
+     */
+    static boolean isEntityNotModified(ServletWebRequest request, Long id, Optional<ModificationStamp> stamp) {
+        Optional<Instant> lastModifiedDate = stamp.flatMap(ModificationStamp::getLatestModifiedDate);
+        if (lastModifiedDate.isEmpty()) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(id + "-" + version(lastModifiedDate.get()), lastModifiedDate.get().toEpochMilli());
+    }
+
+    /**
+     * Check the validator of a list: an ETag only, as removing an entity from the list does not change its last
+     * modification date.
+     *
+     * @param request the current request.
+     * @param stamp the stamp of the list.
+     * @return {@code true} if the response has been completed with {@code 304 (Not Modified)}.
+     */
+    static boolean isListNotModified(ServletWebRequest request, ModificationStamp stamp) {
+        long version = stamp.getLatestModifiedDate().map(ConditionalGet::version).orElse(0L);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        return request.checkNotModified(stamp.getEntityCount() + "-" + version);
+    }
+
+    /**
+     * The ETags use the microseconds of the dates, the precision of the database, rather than the seconds of
+     * Last-Modified, so that successive updates give different ETags.
+     */
+    private static long version(Instant lastModifiedDate) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, lastModifiedDate);
+    }
+}
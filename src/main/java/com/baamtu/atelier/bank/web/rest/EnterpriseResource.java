@@ -2,6 +2,8 @@ package com.baamtu.atelier.bank.web.rest;
 
 import com.baamtu.atelier.bank.repository.EnterpriseRepository;
 import com.baamtu.atelier.bank.service.EnterpriseService;
+import com.baamtu.atelier.bank.service.ReferenceListCache;
+import com.baamtu.atelier.bank.service.ReferenceListCache.VersionedList;
 import com.baamtu.atelier.bank.service.dto.EnterpriseDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
@@ -14,8 +16,10 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -37,9 +41,16 @@ public class EnterpriseResource {
 
     private final EnterpriseRepository enterpriseRepository;
 
-    public EnterpriseResource(EnterpriseService enterpriseService, EnterpriseRepository enterpriseRepository) {
+    private final ReferenceListCache referenceListCache;
+
+    public EnterpriseResource(
+        EnterpriseService enterpriseService,
+        EnterpriseRepository enterpriseRepository,
+        ReferenceListCache referenceListCache
+    ) {
         this.enterpriseService = enterpriseService;
         this.enterpriseRepository = enterpriseRepository;
+        this.referenceListCache = referenceListCache;
     }
 
     /**
@@ -135,23 +146,34 @@ public class EnterpriseResource {
     /**
      * {@code GET  /enterprises} : get all the enterprises.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of enterprises in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of enterprises in body,
+     * or with status {@code 304 (Not Modified)} if the list did not change since the version in {@code If-None-Match}.
      */
     @GetMapping("/enterprises")
-    public List<EnterpriseDTO> getAllEnterprises() {
+    public ResponseEntity<List<EnterpriseDTO>> getAllEnterprises() {
         log.debug("REST request to get all Enterprises");
-        return enterpriseService.findAll();
+        VersionedList<EnterpriseDTO> enterprises = referenceListCache.get(ReferenceListCache.ENTERPRISES, enterpriseService::findAll);
+        return ResponseEntity
+            .ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(enterprises.getVersion())
+            .body(enterprises.getContent());
     }
 
     /**
      * {@code GET  /enterprises/:id} : get the "id" enterprise.
      *
      * @param id the id of the enterpriseDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the enterpriseDTO, or with status {@code 404 (Not Found)}.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the enterpriseDTO, or with status {@code 404 (Not Found)},
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the enterprise did not change.
      */
     @GetMapping("/enterprises/{id}")
-    public ResponseEntity<EnterpriseDTO> getEnterprise(@PathVariable Long id) {
+    public ResponseEntity<EnterpriseDTO> getEnterprise(@PathVariable Long id, ServletWebRequest request) {
         log.debug("REST request to get Enterprise : {}", id);
+        if (ConditionalGet.isEntityNotModified(request, id, enterpriseRepository.findModificationStampById(id))) {
+            return null;
+        }
         Optional<EnterpriseDTO> enterpriseDTO = enterpriseService.findOne(id);
         return ResponseUtil.wrapOrNotFound(enterpriseDTO);
     }
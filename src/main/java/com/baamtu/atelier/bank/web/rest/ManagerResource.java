@@ -1,9 +1,11 @@
 package com.baamtu.atelier.bank.web.rest;
 
-import com.baamtu.atelier.bank.domain.Manager;
 import com.baamtu.atelier.bank.repository.ManagerRepository;
+import com.baamtu.atelier.bank.security.SecurityUtils;
 import com.baamtu.atelier.bank.service.ManagerService;
+import com.baamtu.atelier.bank.service.ProfileCache;
 import com.baamtu.atelier.bank.service.dto.ManagerDTO;
+import com.baamtu.atelier.bank.service.dto.ManagerProfileDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -17,6 +19,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -38,9 +41,12 @@ public class ManagerResource {
 
     private final ManagerRepository managerRepository;
 
-    public ManagerResource(ManagerService managerService, ManagerRepository managerRepository) {
+    private final ProfileCache profileCache;
+
+    public ManagerResource(ManagerService managerService, ManagerRepository managerRepository, ProfileCache profileCache) {
         this.managerService = managerService;
         this.managerRepository = managerRepository;
+        this.profileCache = profileCache;
     }
 
     /**
@@ -136,29 +142,39 @@ public class ManagerResource {
     /**
      * {@code GET  /managers} : get all the managers.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of managers in body.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of managers in body,
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the list did not change.
      */
     @GetMapping("/managers")
-    public List<ManagerDTO> getAllManagers() {
+    public ResponseEntity<List<ManagerDTO>> getAllManagers(ServletWebRequest request) {
         log.debug("REST request to get all Managers");
-        return managerService.findAll();
+        if (ConditionalGet.isListNotModified(request, managerRepository.findModificationStamp())) {
+            return null;
+        }
+        return ResponseEntity.ok(managerService.findAll());
     }
 
     @GetMapping("/managers/user")
-    public Manager getCurrentUser() {
+    public ManagerProfileDTO getCurrentUser() {
         log.debug("REST request to get the current User");
-        return managerRepository.findByUserIsCurrentUser();
+        return SecurityUtils.getCurrentUserLogin().flatMap(profileCache::findManagerProfile).orElse(null);
     }
 
     /**
      * {@code GET  /managers/:id} : get the "id" manager.
      *
      * @param id the id of the managerDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the managerDTO, or with status {@code 404 (Not Found)}.
+     * @param request the current request, with its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the managerDTO, or with status {@code 404 (Not Found)},
+     * or {@code null} once the response is completed with status {@code 304 (Not Modified)} if the manager did not change.
      */
     @GetMapping("/managers/{id}")
-    public ResponseEntity<ManagerDTO> getManager(@PathVariable Long id) {
+    public ResponseEntity<ManagerDTO> getManager(@PathVariable Long id, ServletWebRequest request) {
         log.debug("REST request to get Manager : {}", id);
+        if (ConditionalGet.isEntityNotModified(request, id, managerRepository.findModificationStampById(id))) {
+            return null;
+        }
         Optional<ManagerDTO> managerDTO = managerService.findOne(id);
         return ResponseUtil.wrapOrNotFound(managerDTO);
     }
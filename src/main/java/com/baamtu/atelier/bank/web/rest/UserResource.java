@@ -4,7 +4,6 @@ import com.baamtu.atelier.bank.config.Constants;
 import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.repository.UserRepository;
 import com.baamtu.atelier.bank.security.AuthoritiesConstants;
-import com.baamtu.atelier.bank.service.MailService;
 import com.baamtu.atelier.bank.service.UserService;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import com.baamtu.atelier.bank.web.rest.errors.BadRequestAlertException;
@@ -85,12 +84,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -119,7 +115,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity
                 .created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName, "userManagement.created", newUser.getLogin()))
@@ -6,6 +6,10 @@ public final class ErrorConstants {
 
     public static final String ERR_CONCURRENCY_FAILURE = "error.concurrencyFailure";
     public static final String ERR_VALIDATION = "error.validation";
+    public static final String ERR_APPOINTMENT_CONFLICT = "error.appointmentConflict";
+    public static final String ERR_APPOINTMENT_TOO_LONG = "error.appointmentTooLong";
+    public static final String ERR_SERVER_BUSY = "error.serverBusy";
+    public static final String ERR_LOGIN_THROTTLED = "error.loginThrottled";
     public static final String PROBLEM_BASE_URL = "https://www.jhipster.tech/problem";
     public static final URI DEFAULT_TYPE = URI.create(PROBLEM_BASE_URL + "/problem-with-message");
     public static final URI CONSTRAINT_VIOLATION_TYPE = URI.create(PROBLEM_BASE_URL + "/constraint-violation");
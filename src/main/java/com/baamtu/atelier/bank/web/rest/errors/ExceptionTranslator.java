@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.validation.BindingResult;
@@ -150,6 +151,67 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAppointmentConflictException(
+        com.baamtu.atelier.bank.service.AppointmentConflictException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.CONFLICT)
+            .withTitle(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_APPOINTMENT_CONFLICT)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAppointmentTooLongException(
+        com.baamtu.atelier.bank.service.AppointmentTooLongException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.BAD_REQUEST)
+            .withTitle(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_APPOINTMENT_TOO_LONG)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejectedException(
+        com.baamtu.atelier.bank.security.PasswordHashingRejectedException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .withTitle(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_SERVER_BUSY)
+            .build();
+        return create(ex, problem, request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleLoginThrottledException(
+        com.baamtu.atelier.bank.security.LoginThrottledException ex,
+        NativeWebRequest request
+    ) {
+        Problem problem = Problem
+            .builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .withTitle(ex.getMessage())
+            .with(MESSAGE_KEY, ErrorConstants.ERR_LOGIN_THROTTLED)
+            .build();
+        ResponseEntity<Problem> response = create(ex, problem, request);
+        return ResponseEntity
+            .status(response.getStatusCode())
+            .headers(response.getHeaders())
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(response.getBody());
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -0,0 +1,83 @@
+package com.baamtu.atelier.bank.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the cache metrics set up by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private javax.cache.CacheManager jcacheManager;
+
+    @Test
+    void assertThatEveryRegionIsBoundToMicrometer() {
+        assertThat(jcacheManager.getCacheNames()).contains(UserRepository.USERS_BY_LOGIN_CACHE, Appointment.class.getName());
+        for (String cacheName : jcacheManager.getCacheNames()) {
+            assertThat(meterRegistry.find("cache.gets").tag("cache", cacheName).functionCounters()).as(cacheName).hasSize(2);
+            assertThat(meterRegistry.find("cache.puts").tag("cache", cacheName).functionCounter()).as(cacheName).isNotNull();
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", cacheName).functionCounter()).as(cacheName).isNotNull();
+            assertThat(meterRegistry.find("cache.size").tag("cache", cacheName).gauge()).as(cacheName).isNotNull();
+        }
+    }
+
+    @Test
+    void assertThatHitsMissesAndPutsAreCounted() {
+        Cache cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        double hits = count("cache.gets", "hit");
+        double misses = count("cache.gets", "miss");
+        double puts = count("cache.puts", null);
+
+        cache.get("cache-metrics-missing");
+        cache.put("cache-metrics-user", "user");
+        cache.get("cache-metrics-user");
+        cache.evict("cache-metrics-user");
+
+        assertThat(count("cache.gets", "hit")).isEqualTo(hits + 1);
+        assertThat(count("cache.gets", "miss")).isEqualTo(misses + 1);
+        assertThat(count("cache.puts", null)).isEqualTo(puts + 1);
+    }
+
+    @Test
+    void assertThatTheSizeIsReadFromEhcache() {
+        Cache cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.clear();
+        assertThat(size()).isZero();
+
+        cache.put("cache-size-user", "user");
+        cache.put("cache-size-other-user", "user");
+        assertThat(size()).isEqualTo(2);
+
+        cache.evict("cache-size-user");
+        assertThat(size()).isEqualTo(1);
+        cache.clear();
+    }
+
+    private double size() {
+        return meterRegistry.get("cache.size").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).gauge().value();
+    }
+
+    private double count(String name, String result) {
+        FunctionCounter counter = result == null
+            ? meterRegistry.get(name).tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).functionCounter()
+            : meterRegistry.get(name).tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("result", result).functionCounter();
+        return counter.count();
+    }
+}
@@ -0,0 +1,128 @@
+package com.baamtu.atelier.bank.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.domain.Enterprise;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        MapConfigurationPropertySource source = new MapConfigurationPropertySource(
+            Map.of(
+                "application.cache.regions.[Appointment].heap-entries",
+                "5000",
+                "application.cache.regions.[Appointment].off-heap-mb",
+                "2",
+                "application.cache.regions.[Authority].time-to-live",
+                "1d",
+                "application.cache.regions.[Manager.appointments].heap-entries",
+                "300",
+                "application.cache.regions.[Manager.appointments].time-to-idle",
+                "10m",
+                "application.cache.regions.[usersByLogin].heap-entries",
+                "700"
+            )
+        );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        new Binder(source).bind("application", Bindable.ofInstance(applicationProperties));
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+
+        cacheManager =
+            Caching
+                .getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(URI.create("cache-configuration-test"), getClass().getClassLoader());
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cacheManager);
+    }
+
+    @AfterEach
+    public void teardown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void shouldApplyTheSettingsOfEachRegion() {
+        CacheRuntimeConfiguration<?, ?> appointment = runtimeConfiguration(Appointment.class.getName());
+        assertThat(heap(appointment)).isEqualTo(5000);
+        SizedResourcePool offHeap = appointment.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP);
+        assertThat(offHeap.getSize()).isEqualTo(2);
+        assertThat(offHeap.getUnit()).isEqualTo(MemoryUnit.MB);
+        assertThat(timeToLive(appointment)).isEqualTo(Duration.ofHours(1));
+
+        CacheRuntimeConfiguration<?, ?> authority = runtimeConfiguration(Authority.class.getName());
+        assertThat(heap(authority)).isEqualTo(100);
+        assertThat(timeToLive(authority)).isEqualTo(Duration.ofDays(1));
+
+        CacheRuntimeConfiguration<?, ?> managerAppointments = runtimeConfiguration(Manager.class.getName() + ".appointments");
+        assertThat(heap(managerAppointments)).isEqualTo(300);
+        assertThat(expiry(managerAppointments).getExpiryForAccess(1L, () -> "value")).isEqualTo(Duration.ofMinutes(10));
+
+        assertThat(heap(runtimeConfiguration(UserRepository.USERS_BY_LOGIN_CACHE))).isEqualTo(700);
+    }
+
+    @Test
+    void shouldFallBackToTheJHipsterSettings() {
+        CacheRuntimeConfiguration<?, ?> enterprise = runtimeConfiguration(Enterprise.class.getName());
+        assertThat(heap(enterprise)).isEqualTo(100);
+        assertThat(enterprise.getResourcePools().getResourceTypeSet()).containsExactly(ResourceType.Core.HEAP);
+        assertThat(timeToLive(enterprise)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void shouldCreateUsableOffHeapRegions() {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(Appointment.class.getName());
+        cache.put(1L, "appointment");
+        assertThat(cache.get(1L)).isEqualTo("appointment");
+    }
+
+    private CacheRuntimeConfiguration<?, ?> runtimeConfiguration(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class).unwrap(CacheRuntimeConfiguration.class);
+    }
+
+    private static long heap(CacheRuntimeConfiguration<?, ?> configuration) {
+        SizedResourcePool heap = configuration.getResourcePools().getPoolForResource(ResourceType.Core.HEAP);
+        assertThat(heap.getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        return heap.getSize();
+    }
+
+    private static Duration timeToLive(CacheRuntimeConfiguration<?, ?> configuration) {
+        return expiry(configuration).getExpiryForCreation(1L, "value");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ExpiryPolicy<Object, Object> expiry(CacheRuntimeConfiguration<?, ?> configuration) {
+        return (ExpiryPolicy<Object, Object>) configuration.getExpiryPolicy();
+    }
+}
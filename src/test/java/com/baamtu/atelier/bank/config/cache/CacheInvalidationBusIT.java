@@ -0,0 +1,172 @@
+package com.baamtu.atelier.bank.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.Manager;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import com.baamtu.atelier.bank.service.AppointmentsBulkChangedEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationBus}, with a second {@link JdbcCacheInvalidationBroadcaster} standing
+ * for another instance.
+ * <p>
+ * The bus sends and applies invalidations once their transaction commits, so these tests are not transactional.
+ */
+@IntegrationTest
+class CacheInvalidationBusIT {
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private JdbcCacheInvalidationBroadcaster otherInstance;
+
+    private Cache usersByLogin;
+
+    @BeforeEach
+    public void setup() {
+        otherInstance =
+            new JdbcCacheInvalidationBroadcaster(
+                jdbcTemplate,
+                applicationProperties.getCache().getInvalidation(),
+                "other-instance",
+                Clock.systemUTC()
+            );
+        usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        usersByLogin.clear();
+        // Drop what earlier tests left in the bus
+        bus.flush();
+        otherInstance.receive();
+        bus.poll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("delete from cache_invalidation");
+    }
+
+    @Test
+    void assertThatLocalEvictionsAreSentOnceCoalesced() {
+        usersByLogin.put("alice", "alice");
+        usersByLogin.put("bob", "bob");
+        usersByLogin.evict("alice");
+        usersByLogin.evict("alice");
+        usersByLogin.evict("bob");
+
+        bus.flush();
+
+        assertThat(otherInstance.receive())
+            .containsExactly(
+                CacheInvalidation.ofKey(UserRepository.USERS_BY_LOGIN_CACHE, "alice"),
+                CacheInvalidation.ofKey(UserRepository.USERS_BY_LOGIN_CACHE, "bob")
+            );
+        assertThat(otherInstance.receive()).isEmpty();
+    }
+
+    @Test
+    void assertThatTooManyKeysInvalidateTheWholeRegion() {
+        for (int i = 0; i < 4; i++) {
+            usersByLogin.put("user-" + i, "user");
+            usersByLogin.evict("user-" + i);
+        }
+
+        bus.flush();
+
+        assertThat(otherInstance.receive()).containsExactly(CacheInvalidation.ofRegion(UserRepository.USERS_BY_LOGIN_CACHE));
+    }
+
+    @Test
+    void assertThatRemoteEvictionsAreAppliedWithoutBeingSentBack() {
+        usersByLogin.put("alice", "alice");
+        usersByLogin.put("bob", "bob");
+
+        otherInstance.broadcast(List.of(CacheInvalidation.ofKey(UserRepository.USERS_BY_LOGIN_CACHE, "alice")));
+        bus.poll();
+
+        assertThat(usersByLogin.get("alice")).isNull();
+        assertThat(usersByLogin.get("bob")).isNotNull();
+
+        bus.flush();
+        assertThat(otherInstance.receive()).isEmpty();
+    }
+
+    @Test
+    void assertThatKeysKeepTheirType() {
+        assertThat(JdbcCacheInvalidationBroadcaster.decode("region", JdbcCacheInvalidationBroadcaster.encode(42L)).getKey())
+            .isEqualTo(42L);
+        assertThat(JdbcCacheInvalidationBroadcaster.decode("region", JdbcCacheInvalidationBroadcaster.encode("42")).getKey())
+            .isEqualTo("42");
+        assertThat(JdbcCacheInvalidationBroadcaster.decode("region", JdbcCacheInvalidationBroadcaster.encode(42)).isWholeRegion()).isTrue();
+    }
+
+    @Test
+    void assertThatRemoteEvictionsAreAppliedWhateverTheClockOfTheSender() {
+        JdbcCacheInvalidationBroadcaster lateInstance = new JdbcCacheInvalidationBroadcaster(
+            jdbcTemplate,
+            applicationProperties.getCache().getInvalidation(),
+            "late-instance",
+            Clock.offset(Clock.systemUTC(), Duration.ofHours(-1))
+        );
+        usersByLogin.put("alice", "alice");
+
+        lateInstance.broadcast(List.of(CacheInvalidation.ofKey(UserRepository.USERS_BY_LOGIN_CACHE, "alice")));
+        bus.poll();
+
+        assertThat(usersByLogin.get("alice")).isNull();
+    }
+
+    @Test
+    void assertThatBulkChangesOfKnownAppointmentsAreSentPerAppointment() {
+        eventPublisher.publishEvent(new AppointmentsBulkChangedEvent(Set.of(1L, 2L)));
+
+        bus.flush();
+
+        // Other listeners of the event may evict their own caches
+        assertThat(otherInstance.receive())
+            .contains(
+                CacheInvalidation.ofKey(Appointment.class.getName(), 1L),
+                CacheInvalidation.ofKey(Appointment.class.getName(), 2L)
+            );
+    }
+
+    @Test
+    void assertThatBulkChangesOfUnknownAppointmentsInvalidateTheirRegions() {
+        eventPublisher.publishEvent(new AppointmentsBulkChangedEvent(10));
+
+        bus.flush();
+
+        assertThat(otherInstance.receive())
+            .contains(
+                CacheInvalidation.ofRegion(Appointment.class.getName()),
+                CacheInvalidation.ofRegion(Advisor.class.getName() + ".appointments"),
+                CacheInvalidation.ofRegion(Manager.class.getName() + ".appointments")
+            );
+    }
+}
@@ -0,0 +1,145 @@
+package com.baamtu.atelier.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.baamtu.atelier.bank.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LoginAttemptLimiter} class.
+ */
+class LoginAttemptLimiterTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private MutableClock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginAttemptLimiter limiter;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLoginThrottle().setMaxAttemptsPerLogin(3);
+        applicationProperties.getLoginThrottle().setMaxAttemptsPerAccount(6);
+        applicationProperties.getLoginThrottle().setMaxAttemptsPerIp(5);
+        applicationProperties.getLoginThrottle().setWindow(Duration.ofMinutes(1));
+        clock = new MutableClock(Instant.parse("2026-01-05T09:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginAttemptLimiter(applicationProperties, meterRegistry, clock);
+    }
+
+    @Test
+    void testLoginIsThrottledUntilFailuresLeaveTheWindow() {
+        fail("john", 3);
+
+        assertThatThrownBy(() -> limiter.acquire("John", IP))
+            .isInstanceOf(LoginThrottledException.class)
+            .extracting("retryAfterSeconds")
+            .isEqualTo(60L);
+
+        clock.advance(Duration.ofSeconds(61));
+        limiter.acquire("john", IP);
+        assertThat(meterRegistry.get("login.throttle.rejected").tag("key", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testLoginIsOnlyThrottledFromTheFailingIp() {
+        fail("john", 3);
+
+        assertThatThrownBy(() -> limiter.acquire("john", IP)).isInstanceOf(LoginThrottledException.class);
+        limiter.acquire("john", "10.0.0.2");
+        limiter.succeeded("john", "10.0.0.2");
+    }
+
+    @Test
+    void testLoginIsThrottledAcrossIps() {
+        fail("john", IP, 3);
+        fail("john", "10.0.0.2", 3);
+
+        assertThatThrownBy(() -> limiter.acquire("john", "10.0.0.3")).isInstanceOf(LoginThrottledException.class);
+        limiter.acquire("jane", "10.0.0.3");
+        assertThat(meterRegistry.get("login.throttle.rejected").tag("key", "account").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testIpIsThrottledAcrossLogins() {
+        fail("john", 2);
+        fail("jane", 2);
+        fail("jim", 1);
+
+        assertThatThrownBy(() -> limiter.acquire("joe", IP)).isInstanceOf(LoginThrottledException.class);
+        limiter.acquire("joe", "10.0.0.2");
+        assertThat(meterRegistry.get("login.throttle.rejected").tag("key", "ip").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSuccessClearsTheFailuresOfTheLogin() {
+        fail("john", 2);
+        limiter.acquire("john", IP);
+        limiter.succeeded("john", IP);
+
+        fail("john", 3);
+        assertThatThrownBy(() -> limiter.acquire("john", IP)).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void testPurgeForgetsExpiredKeys() {
+        fail("john", 1);
+        assertThat(meterRegistry.get("login.throttle.tracked").tag("key", "login").gauge().value()).isEqualTo(1);
+
+        clock.advance(Duration.ofMinutes(2));
+        limiter.purge();
+
+        assertThat(meterRegistry.get("login.throttle.tracked").tag("key", "login").gauge().value()).isZero();
+        assertThat(meterRegistry.get("login.throttle.tracked").tag("key", "ip").gauge().value()).isZero();
+    }
+
+    private void fail(String login, int times) {
+        fail(login, IP, times);
+    }
+
+    private void fail(String login, String ip, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.acquire(login, ip);
+            limiter.failed(login, ip);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
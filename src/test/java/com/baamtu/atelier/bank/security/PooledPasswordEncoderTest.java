@@ -0,0 +1,141 @@
+package com.baamtu.atelier.bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link PooledPasswordEncoder} class.
+ */
+class PooledPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PooledPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new PooledPasswordEncoder(5, 2, 10, Duration.ofSeconds(10), meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchOnThePool() {
+        String hash = passwordEncoder.encode("password");
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+        assertThat(passwordEncoder.matches("other", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpgradeEncodingWhenCostDiffers() {
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password"))).isFalse();
+    }
+
+    @Test
+    void testNoUpgradeEncodingOfUnknownHashes() {
+        assertThat(passwordEncoder.upgradeEncoding(null)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("")).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("plain-text-password")).isFalse();
+    }
+
+    @Test
+    void testRejectedWhenThePoolAndTheQueueAreFull() throws Exception {
+        // A registry of its own, as the gauge of the queue is bound to the first executor registered
+        SimpleMeterRegistry saturatedRegistry = new SimpleMeterRegistry();
+        PooledPasswordEncoder saturatedEncoder = new PooledPasswordEncoder(4, 1, 1, Duration.ofSeconds(10), saturatedRegistry);
+        String hash = new BCryptPasswordEncoder(4).encode("password");
+        BlockingPassword running = new BlockingPassword();
+        Thread first = new Thread(() -> saturatedEncoder.matches(running, hash));
+        Thread second = new Thread(() -> saturatedEncoder.matches("password", hash));
+        try {
+            first.start();
+            assertThat(running.started.await(10, TimeUnit.SECONDS)).isTrue();
+            second.start();
+            while (saturatedRegistry.get("password.hashing.queue").gauge().value() < 1) {
+                Thread.sleep(10);
+            }
+
+            assertThatThrownBy(() -> saturatedEncoder.matches("password", hash)).isInstanceOf(PasswordHashingRejectedException.class);
+            assertThat(saturatedRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            running.release.countDown();
+            first.join();
+            second.join();
+            saturatedEncoder.destroy();
+        }
+    }
+
+    @Test
+    void testRejectedWhenWaitingTooLong() throws Exception {
+        PooledPasswordEncoder slowEncoder = new PooledPasswordEncoder(4, 1, 10, Duration.ofMillis(100), meterRegistry);
+        String hash = new BCryptPasswordEncoder(4).encode("password");
+        BlockingPassword running = new BlockingPassword();
+        Thread first = new Thread(() -> slowEncoder.matches(running, hash));
+        try {
+            first.start();
+            assertThat(running.started.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> slowEncoder.matches("password", hash)).isInstanceOf(PasswordHashingRejectedException.class);
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            running.release.countDown();
+            first.join();
+            slowEncoder.destroy();
+        }
+    }
+
+    /**
+     * A password holding the hashing thread until released, BCrypt reading it with {@link #toString()}.
+     */
+    private static final class BlockingPassword implements CharSequence {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public int length() {
+            return "password".length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return "password".charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return "password".subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "password";
+        }
+    }
+}
@@ -83,6 +83,46 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testVerifiedTokenIsAuthenticatedFromCache() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+
+        Optional<Authentication> first = tokenProvider.authenticate(token);
+        Optional<Authentication> second = tokenProvider.authenticate(token);
+
+        assertThat(tokenProvider.verifiedTokensSize()).isEqualTo(1);
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().getName()).isEqualTo("anonymous");
+        assertThat(second.get().getCredentials()).isEqualTo(token);
+        assertThat(second.get().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(second.get()).isNotSameAs(first.get());
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        Authentication authentication = createAuthentication();
+        String token = tokenProvider.createToken(authentication, false);
+        tokenProvider.validateToken(token);
+
+        boolean isTokenValid = tokenProvider.validateToken(token.substring(0, token.length() - 2));
+
+        assertThat(isTokenValid).isFalse();
+        assertThat(tokenProvider.verifiedTokensSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+        assertThat(tokenProvider.verifiedTokensSize()).isZero();
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
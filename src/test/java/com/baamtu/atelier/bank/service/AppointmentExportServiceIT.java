@@ -0,0 +1,83 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.web.rest.AppointmentResourceIT;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link AppointmentExportService}.
+ */
+@IntegrationTest
+@Transactional
+class AppointmentExportServiceIT {
+
+    private static final Instant FROM = Instant.parse("2026-01-05T00:00:00Z");
+
+    private static final Instant TO = Instant.parse("2026-01-06T00:00:00Z");
+
+    @Autowired
+    private AppointmentExportService appointmentExportService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Appointment appointment;
+
+    @BeforeEach
+    public void init() {
+        appointment =
+            AppointmentResourceIT
+                .createEntity(em)
+                .title("a, \"quoted\"")
+                .startDate(Instant.parse("2026-01-05T10:00:00Z"))
+                .endDate(Instant.parse("2026-01-05T11:00:00Z"));
+        em.persist(appointment);
+        em.flush();
+    }
+
+    @Test
+    void assertThatAppointmentsAreExportedAsNdjson() throws Exception {
+        String export = export(AppointmentExportService.Format.NDJSON, appointment.getAdvisor().getId(), null);
+
+        String[] lines = export.split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).contains("\"id\":" + appointment.getId() + ",");
+        assertThat(lines[0]).contains("\"advisorId\":" + appointment.getAdvisor().getId());
+    }
+
+    @Test
+    void assertThatAppointmentsAreExportedAsCsv() throws Exception {
+        String export = export(AppointmentExportService.Format.CSV, null, appointment.getManager().getId());
+
+        String[] lines = export.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,created,");
+        assertThat(lines[1]).startsWith(appointment.getId() + ",");
+        assertThat(lines[1]).contains(",\"a, \"\"quoted\"\"\",");
+    }
+
+    @Test
+    void assertThatAppointmentsOutsideTheRangeAreNotExported() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Long advisorId = appointment.getAdvisor().getId();
+        appointmentExportService.export(AppointmentExportService.Format.NDJSON, advisorId, null, TO, TO.plusSeconds(3600), out);
+
+        assertThat(out.toByteArray()).isEmpty();
+    }
+
+    private String export(AppointmentExportService.Format format, Long advisorId, Long managerId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        appointmentExportService.export(format, advisorId, managerId, FROM, TO, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
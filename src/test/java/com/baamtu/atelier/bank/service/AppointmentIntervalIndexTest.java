@@ -0,0 +1,51 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AppointmentIntervalIndexTest {
+
+    private static final Instant NINE = Instant.parse("2021-09-06T09:00:00Z");
+
+    private AppointmentIntervalIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new AppointmentIntervalIndex();
+        // 09:00-10:00, 10:30-11:00 and a long 13:00-17:00
+        index.put(1L, NINE, NINE.plus(Duration.ofHours(1)));
+        index.put(2L, NINE.plus(Duration.ofMinutes(90)), NINE.plus(Duration.ofHours(2)));
+        index.put(3L, NINE.plus(Duration.ofHours(4)), NINE.plus(Duration.ofHours(8)));
+    }
+
+    @Test
+    void findsNextFreeSlot() {
+        assertThat(index.nextFreeSlot(NINE.minus(Duration.ofHours(1)), Duration.ofMinutes(30))).isEqualTo(NINE.minus(Duration.ofHours(1)));
+        assertThat(index.nextFreeSlot(NINE, Duration.ofMinutes(30))).isEqualTo(NINE.plus(Duration.ofHours(1)));
+        assertThat(index.nextFreeSlot(NINE, Duration.ofMinutes(45))).isEqualTo(NINE.plus(Duration.ofHours(2)));
+    }
+
+    @Test
+    void skipsTheSpanInProgress() {
+        assertThat(index.nextFreeSlot(NINE.plus(Duration.ofHours(5)), Duration.ofMinutes(30))).isEqualTo(NINE.plus(Duration.ofHours(8)));
+    }
+
+    @Test
+    void adjacentSpansLeaveNoGap() {
+        index.put(4L, NINE.plus(Duration.ofHours(1)), NINE.plus(Duration.ofMinutes(90)));
+
+        assertThat(index.nextFreeSlot(NINE, Duration.ofMinutes(30))).isEqualTo(NINE.plus(Duration.ofHours(2)));
+    }
+
+    @Test
+    void ignoresEmptySpans() {
+        index.put(4L, NINE.plus(Duration.ofHours(3)), NINE.plus(Duration.ofHours(3)));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.nextFreeSlot(NINE.plus(Duration.ofHours(2)), Duration.ofHours(2))).isEqualTo(NINE.plus(Duration.ofHours(2)));
+    }
+}
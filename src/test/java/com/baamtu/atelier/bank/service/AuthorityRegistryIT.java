@@ -0,0 +1,54 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.repository.AuthorityRepository;
+import com.baamtu.atelier.bank.security.AuthoritiesConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link AuthorityRegistry}.
+ * <p>
+ * The registry is refreshed when the writing transaction completes, so these tests are not transactional and delete
+ * the authority they create.
+ */
+@IntegrationTest
+class AuthorityRegistryIT {
+
+    private static final String NEW_AUTHORITY = "ROLE_AUTHORITY_REGISTRY";
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @AfterEach
+    public void cleanup() {
+        authorityRepository.findById(NEW_AUTHORITY).ifPresent(authorityRepository::delete);
+    }
+
+    @Test
+    void assertThatAuthoritiesAreResolved() {
+        assertThat(authorityRegistry.resolve(AuthoritiesConstants.USER)).map(Authority::getName).contains(AuthoritiesConstants.USER);
+        assertThat(authorityRegistry.resolve(NEW_AUTHORITY)).isEmpty();
+    }
+
+    @Test
+    void assertThatAuthoritiesAreRefreshedOnChange() {
+        assertThat(authorityRegistry.resolve(NEW_AUTHORITY)).isEmpty();
+
+        Authority authority = new Authority();
+        authority.setName(NEW_AUTHORITY);
+        authorityRepository.saveAndFlush(authority);
+        assertThat(authorityRegistry.resolve(NEW_AUTHORITY)).isPresent();
+        assertThat(authorityRegistry.getNames()).contains(NEW_AUTHORITY);
+
+        authorityRepository.delete(authority);
+        assertThat(authorityRegistry.resolve(NEW_AUTHORITY)).isEmpty();
+    }
+}
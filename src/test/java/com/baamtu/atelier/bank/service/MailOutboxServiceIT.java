@@ -0,0 +1,136 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.MailOutboxEntry;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.repository.MailOutboxEntryRepository;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link MailOutboxService}, against a GreenMail SMTP server.
+ * <p>
+ * The worker runs its own transactions, so these tests are not transactional and delete the users they create.
+ */
+@IntegrationTest
+class MailOutboxServiceIT {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailOutboxEntryRepository mailOutboxEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<User> users = new ArrayList<>();
+
+    @AfterEach
+    public void cleanup() {
+        // The outbox rows are deleted in cascade
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void assertThatQueuedEmailsAreSentInBatches() throws Exception {
+        // Three emails with a batch size of 2: two batches in one run
+        for (int i = 0; i < 3; i++) {
+            mailOutboxService.enqueueActivationEmail(createUser("outbox-user-" + i));
+        }
+
+        mailOutboxService.sendQueued();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getAllRecipients()[0]).hasToString("outbox-user-0@localhost");
+        assertThat(received[0].getSubject()).isNotEmpty();
+        assertThat(findEntries()).allSatisfy(entry -> assertThat(entry.getSentDate()).isNotNull());
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("mail.outbox.lag").timeGauge().value()).isZero();
+    }
+
+    @Test
+    void assertThatFailedEmailsAreRetriedWithBackoffThenAbandoned() {
+        mailOutboxService.enqueuePasswordResetEmail(createUser("outbox-retry"));
+        greenMail.stop();
+
+        Instant beforeFirstAttempt = Instant.now();
+        mailOutboxService.sendQueued();
+
+        MailOutboxEntry entry = findEntries().get(0);
+        assertThat(entry.getSentDate()).isNull();
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getLastError()).isNotBlank();
+        assertThat(entry.getNextAttemptDate()).isAfterOrEqualTo(beforeFirstAttempt.plusSeconds(30));
+
+        // Not due yet
+        mailOutboxService.sendQueued();
+        assertThat(findEntries().get(0).getAttempts()).isEqualTo(1);
+
+        // The test configuration allows 3 attempts
+        for (int attempt = 2; attempt <= 3; attempt++) {
+            makeDue();
+            mailOutboxService.sendQueued();
+        }
+        entry = findEntries().get(0);
+        assertThat(entry.getAttempts()).isEqualTo(3);
+        assertThat(entry.getSentDate()).isNull();
+
+        makeDue();
+        mailOutboxService.sendQueued();
+        assertThat(findEntries().get(0).getAttempts()).isEqualTo(3);
+        assertThat(meterRegistry.get("mail.outbox.pending").gauge().value()).isZero();
+    }
+
+    private User createUser(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setEmail(login + "@localhost");
+        user.setLangKey("en");
+        user.setResetKey(RandomStringUtils.randomNumeric(20));
+        user = userRepository.saveAndFlush(user);
+        users.add(user);
+        return user;
+    }
+
+    private List<MailOutboxEntry> findEntries() {
+        List<MailOutboxEntry> entries = new ArrayList<>();
+        for (MailOutboxEntry entry : mailOutboxEntryRepository.findAll()) {
+            for (User user : users) {
+                if (entry.getUser().getId().equals(user.getId())) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private void makeDue() {
+        List<MailOutboxEntry> entries = findEntries();
+        entries.forEach(entry -> entry.setNextAttemptDate(Instant.now().minus(1, ChronoUnit.SECONDS)));
+        mailOutboxEntryRepository.saveAll(entries);
+    }
+}
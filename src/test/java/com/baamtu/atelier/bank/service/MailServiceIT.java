@@ -14,6 +14,9 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -133,14 +136,12 @@ class MailServiceIT {
     }
 
     @Test
-    void testSendEmailFromTemplate() throws Exception {
+    void testCreateTemplatedEmail() throws Exception {
         User user = new User();
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         user.setLangKey("en");
-        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = mailService.createTemplatedEmail(user, "mail/testEmail", "email.test.title");
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -149,14 +150,12 @@ class MailServiceIT {
     }
 
     @Test
-    void testSendActivationEmail() throws Exception {
+    void testCreateActivationEmail() throws Exception {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = mailService.createTemplatedEmail(user, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY);
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -164,14 +163,12 @@ class MailServiceIT {
     }
 
     @Test
-    void testCreationEmail() throws Exception {
+    void testCreateCreationEmail() throws Exception {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = mailService.createTemplatedEmail(user, MailService.CREATION_TEMPLATE, MailService.CREATION_TITLE_KEY);
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -179,14 +176,16 @@ class MailServiceIT {
     }
 
     @Test
-    void testSendPasswordResetMail() throws Exception {
+    void testCreatePasswordResetEmail() throws Exception {
         User user = new User();
         user.setLangKey(Constants.DEFAULT_LANGUAGE);
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
-        mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = mailService.createTemplatedEmail(
+            user,
+            MailService.PASSWORD_RESET_TEMPLATE,
+            MailService.PASSWORD_RESET_TITLE_KEY
+        );
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -204,15 +203,13 @@ class MailServiceIT {
     }
 
     @Test
-    void testSendLocalizedEmailForAllSupportedLanguages() throws Exception {
+    void testCreateLocalizedEmailForAllSupportedLanguages() throws Exception {
         User user = new User();
         user.setLogin("john");
         user.setEmail("john.doe@example.com");
         for (String langKey : languages) {
             user.setLangKey(langKey);
-            mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            MimeMessage message = mailService.createTemplatedEmail(user, "mail/testEmail", "email.test.title");
 
             String propertyFilePath = "i18n/messages_" + getJavaLocale(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
@@ -227,6 +224,31 @@ class MailServiceIT {
         }
     }
 
+    @Test
+    void testCreateTemplatedEmailsRendersEachRecipientInItsLanguage() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User user = new User();
+            user.setLogin("john" + i);
+            user.setEmail("john" + i + "@example.com");
+            user.setLangKey(languages[i % languages.length]);
+            users.add(user);
+        }
+
+        List<MimeMessage> messages = mailService.createTemplatedEmails(users, "mail/testEmail", "email.test.title");
+
+        assertThat(messages).hasSize(4);
+        for (int i = 0; i < 4; i++) {
+            MimeMessage message = messages.get(i);
+            String emailTitle = messageSource.getMessage("email.test.title", null, Locale.forLanguageTag(users.get(i).getLangKey()));
+            assertThat(message.getAllRecipients()[0]).hasToString("john" + i + "@example.com");
+            assertThat(message.getSubject()).isEqualTo(emailTitle);
+            assertThat(message.getContent().toString())
+                .isEqualToNormalizingNewlines("<html>" + emailTitle + ", http://127.0.0.1:8080, john" + i + "</html>\n");
+        }
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+
     /**
      * Convert a lang key to the Java locale.
      */
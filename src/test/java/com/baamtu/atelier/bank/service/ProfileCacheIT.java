@@ -0,0 +1,113 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.repository.AgencyRepository;
+import com.baamtu.atelier.bank.repository.UserRepository;
+import com.baamtu.atelier.bank.service.dto.AdvisorProfileDTO;
+import com.baamtu.atelier.bank.web.rest.AgencyResourceIT;
+import com.baamtu.atelier.bank.web.rest.UserResourceIT;
+import java.util.Objects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ProfileCache}.
+ * <p>
+ * Profiles are evicted when the writing transaction completes, so these tests are not transactional and delete the
+ * entities they create.
+ */
+@IntegrationTest
+class ProfileCacheIT {
+
+    @Autowired
+    private ProfileCache profileCache;
+
+    @Autowired
+    private AdvisorRepository advisorRepository;
+
+    @Autowired
+    private AgencyRepository agencyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cache advisorsByLogin;
+
+    private Agency agency;
+
+    private User user;
+
+    private Advisor advisor;
+
+    @BeforeEach
+    public void setup() {
+        advisorsByLogin = Objects.requireNonNull(cacheManager.getCache(ProfileCache.ADVISORS_BY_LOGIN_CACHE));
+        advisorsByLogin.clear();
+        agency = agencyRepository.saveAndFlush(AgencyResourceIT.createEntity(null));
+        user = userRepository.saveAndFlush(UserResourceIT.createEntity(null));
+        advisor = advisorRepository.saveAndFlush(new Advisor().telephone("0102030405").user(user).agency(agency));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        advisorRepository.delete(advisor);
+        userRepository.delete(user);
+        agencyRepository.delete(agency);
+    }
+
+    @Test
+    void assertThatProfilesAreCachedAsDtosUntilAWrite() {
+        AdvisorProfileDTO profile = profileCache.findAdvisorProfile(user.getLogin()).orElseThrow();
+        assertThat(profile.getId()).isEqualTo(advisor.getId());
+        assertThat(profile.getAgencyName()).isEqualTo(agency.getName());
+        assertThat(advisorsByLogin.get(user.getLogin(), AdvisorProfileDTO.class)).isNotNull();
+
+        agencyRepository.saveAndFlush(agency.name("renamed"));
+
+        assertThat(advisorsByLogin.get(user.getLogin())).isNull();
+        assertThat(profileCache.findAdvisorProfile(user.getLogin()).orElseThrow().getAgencyName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void assertThatWritesByDirtyCheckingEvictOnCommit() {
+        profileCache.findAdvisorProfile(user.getLogin());
+
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    advisorRepository.findById(advisor.getId()).orElseThrow().setTelephone("0607080910");
+                    advisorRepository.flush();
+                    // The writing transaction reads the database, and caches nothing until it completes
+                    assertThat(profileCache.findAdvisorProfile(user.getLogin()).orElseThrow().getTelephone()).isEqualTo("0607080910");
+                    assertThat(advisorsByLogin.get(user.getLogin())).isNull();
+                }
+            );
+
+        assertThat(advisorsByLogin.get(user.getLogin())).isNull();
+        assertThat(profileCache.findAdvisorProfile(user.getLogin()).orElseThrow().getTelephone()).isEqualTo("0607080910");
+    }
+
+    @Test
+    void assertThatUsersWithoutAProfileAreCached() {
+        assertThat(profileCache.findAdvisorProfile("not-an-advisor")).isEmpty();
+        assertThat(advisorsByLogin.get("not-an-advisor")).isNotNull();
+    }
+}
@@ -0,0 +1,106 @@
+package com.baamtu.atelier.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.repository.AgencyRepository;
+import com.baamtu.atelier.bank.service.ReferenceListCache.VersionedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link ReferenceListCache}.
+ * <p>
+ * Listings are evicted when the writing transaction completes, so these tests are not transactional and delete the
+ * agencies they create.
+ */
+@IntegrationTest
+class ReferenceListCacheIT {
+
+    @Autowired
+    private ReferenceListCache referenceListCache;
+
+    @Autowired
+    private AgencyRepository agencyRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Agency> agencies = new ArrayList<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<List<String>> agencyNames = () -> {
+        loads.incrementAndGet();
+        return agencyRepository.findAll().stream().map(Agency::getName).collect(Collectors.toList());
+    };
+
+    @BeforeEach
+    public void setup() {
+        cacheManager.getCache(ReferenceListCache.REFERENCE_LISTS_CACHE).clear();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        agencyRepository.deleteAll(agencies);
+    }
+
+    @Test
+    void assertThatListingsAreCachedUntilAWrite() {
+        VersionedList<String> first = referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+        VersionedList<String> second = referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+
+        createAgency("reference-list-agency");
+
+        VersionedList<String> third = referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+        assertThat(loads).hasValue(2);
+        assertThat(third.getVersion()).isNotEqualTo(first.getVersion());
+        assertThat(third.getContent()).contains("reference-list-agency");
+    }
+
+    @Test
+    void assertThatTheVersionDependsOnTheContentOnly() {
+        String version = referenceListCache.get(ReferenceListCache.ENTERPRISES, () -> List.of("enterprise")).getVersion();
+        cacheManager.getCache(ReferenceListCache.REFERENCE_LISTS_CACHE).clear();
+
+        assertThat(referenceListCache.get(ReferenceListCache.ENTERPRISES, () -> List.of("enterprise")).getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void assertThatListingsAreNotCachedByTheWritingTransaction() {
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(
+                status -> {
+                    createAgency("uncommitted-agency");
+                    referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+                    VersionedList<String> names = referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+                    assertThat(names.getContent()).contains("uncommitted-agency");
+                    assertThat(loads).hasValue(2);
+                }
+            );
+
+        referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+        referenceListCache.get(ReferenceListCache.AGENCIES, agencyNames);
+        assertThat(loads).hasValue(3);
+    }
+
+    private void createAgency(String name) {
+        agencies.add(agencyRepository.saveAndFlush(new Agency().name(name).address("address").email("agency@example.com")));
+    }
+}
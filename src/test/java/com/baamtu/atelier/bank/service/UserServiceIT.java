@@ -5,14 +5,20 @@ import static org.mockito.Mockito.when;
 
 import com.baamtu.atelier.bank.IntegrationTest;
 import com.baamtu.atelier.bank.config.Constants;
+import com.baamtu.atelier.bank.domain.Authority;
+import com.baamtu.atelier.bank.domain.MailOutboxEntry;
 import com.baamtu.atelier.bank.domain.User;
+import com.baamtu.atelier.bank.repository.MailOutboxEntryRepository;
 import com.baamtu.atelier.bank.repository.UserRepository;
+import com.baamtu.atelier.bank.security.AuthoritiesConstants;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManager;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +56,12 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MailOutboxEntryRepository mailOutboxEntryRepository;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
@@ -86,6 +98,10 @@ class UserServiceIT {
         assertThat(maybeUser.orElse(null).getEmail()).isEqualTo(user.getEmail());
         assertThat(maybeUser.orElse(null).getResetDate()).isNotNull();
         assertThat(maybeUser.orElse(null).getResetKey()).isNotNull();
+        assertThat(mailOutboxEntryRepository.findAll())
+            .filteredOn(entry -> entry.getUser().getId().equals(user.getId()))
+            .extracting(MailOutboxEntry::getTemplateName)
+            .containsExactly("mail/passwordResetEmail");
     }
 
     @Test
@@ -182,4 +198,44 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatCreatedUserGetsOnlyExistingAuthorities() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("authorities-user");
+        userDTO.setEmail("authorities-user@localhost");
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.ADMIN, "ROLE_UNKNOWN"));
+
+        User createdUser = userService.createUser(userDTO);
+        userRepository.flush();
+        em.clear();
+
+        User dbUser = userRepository.findById(createdUser.getId()).orElseThrow();
+        assertThat(dbUser.getAuthorities()).extracting(Authority::getName).containsExactly(AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    @Transactional
+    void assertThatAuthoritiesAreServedByTheRegistry() {
+        assertThat(userService.getAuthorities()).contains(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER).isSorted();
+    }
+
+    @Test
+    @Transactional
+    void assertThatCreatedUserIsSentALinkToChooseAPassword() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("created-user");
+        userDTO.setEmail("created-user@localhost");
+
+        User createdUser = userService.createUser(userDTO);
+        userRepository.flush();
+
+        assertThat(createdUser.getResetKey()).isNotNull();
+        assertThat(createdUser.getResetDate()).isNotNull();
+        assertThat(mailOutboxEntryRepository.findAll())
+            .filteredOn(entry -> entry.getUser().getId().equals(createdUser.getId()))
+            .extracting(MailOutboxEntry::getTemplateName)
+            .containsExactly("mail/creationEmail");
+    }
 }
@@ -0,0 +1,27 @@
+package com.baamtu.atelier.bank.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class AppointmentCursorTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        AppointmentCursor cursor = new AppointmentCursor(Instant.parse("2021-09-06T06:18:29.123Z"), 1051L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain(",", "=", "/", "+");
+        assertThat(AppointmentCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decodeRejectsInvalidValues() {
+        assertThatThrownBy(() -> AppointmentCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AppointmentCursor.decode(new AppointmentCursor(Instant.EPOCH, 1L).encode() + "AA"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
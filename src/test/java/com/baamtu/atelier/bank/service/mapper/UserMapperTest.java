@@ -2,6 +2,7 @@ package com.baamtu.atelier.bank.service.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.baamtu.atelier.bank.domain.Authority;
 import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.service.dto.AdminUserDTO;
 import com.baamtu.atelier.bank.service.dto.UserDTO;
@@ -63,6 +64,36 @@ class UserMapperTest {
         assertThat(users).isNotEmpty().size().isEqualTo(1);
     }
 
+    @Test
+    void usersToAdminUserDTOsShouldShareAuthorityNamesOfUsersWithSameAuthorities() {
+        Authority admin = new Authority();
+        admin.setName("ADMIN");
+        User otherUser = new User();
+        otherUser.setLogin("janedoe");
+        user.setAuthorities(new HashSet<>(Set.of(admin)));
+        otherUser.setAuthorities(new HashSet<>(Set.of(admin)));
+
+        List<AdminUserDTO> userDTOs = userMapper.usersToAdminUserDTOs(List.of(user, otherUser));
+
+        assertThat(userDTOs).hasSize(2);
+        assertThat(userDTOs.get(0).getAuthorities()).containsExactly("ADMIN");
+        assertThat(userDTOs.get(1).getAuthorities()).isSameAs(userDTOs.get(0).getAuthorities());
+    }
+
+    @Test
+    void userDTOsToUsersShouldShareAuthorityInstances() {
+        AdminUserDTO otherUserDto = new AdminUserDTO();
+        otherUserDto.setLogin("janedoe");
+        userDto.setAuthorities(Set.of("ADMIN", "USER"));
+        otherUserDto.setAuthorities(Set.of("ADMIN"));
+
+        List<User> users = userMapper.userDTOsToUsers(List.of(userDto, otherUserDto));
+
+        Authority admin = users.get(1).getAuthorities().iterator().next();
+        assertThat(users.get(0).getAuthorities()).extracting(Authority::getName).containsExactlyInAnyOrder("ADMIN", "USER");
+        assertThat(users.get(0).getAuthorities()).anyMatch(authority -> authority == admin);
+    }
+
     @Test
     void userDTOsToUsersWithAuthoritiesStringShouldMapToUsersWithAuthoritiesDomain() {
         Set<String> authoritiesAsString = new HashSet<>();
@@ -10,9 +10,11 @@ import com.baamtu.atelier.bank.domain.Advisor;
 import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.domain.enumeration.Gender;
 import com.baamtu.atelier.bank.repository.AdvisorRepository;
+import com.baamtu.atelier.bank.service.ProfileCache;
 import com.baamtu.atelier.bank.service.dto.AdvisorDTO;
 import com.baamtu.atelier.bank.service.mapper.AdvisorMapper;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -54,6 +57,9 @@ class AdvisorResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restAdvisorMockMvc;
 
@@ -93,6 +99,7 @@ class AdvisorResourceIT {
 
     @BeforeEach
     public void initTest() {
+        Objects.requireNonNull(cacheManager.getCache(ProfileCache.ADVISORS_BY_LOGIN_CACHE)).clear();
         advisor = createEntity(em);
     }
 
@@ -183,6 +190,42 @@ class AdvisorResourceIT {
             .andExpect(jsonPath("$.telephone").value(DEFAULT_TELEPHONE));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("current-advisor")
+    void getCurrentUserAdvisor() throws Exception {
+        // Initialize the database
+        advisor.getUser().setLogin("current-advisor");
+        advisorRepository.saveAndFlush(advisor);
+
+        restAdvisorMockMvc
+            .perform(get(ENTITY_API_URL + "/user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(advisor.getId().intValue()))
+            .andExpect(jsonPath("$.login").value("current-advisor"))
+            .andExpect(jsonPath("$.telephone").value(DEFAULT_TELEPHONE));
+
+        // Update the advisor, the cached profile must not be served anymore
+        Advisor updatedAdvisor = advisorRepository.findById(advisor.getId()).get();
+        em.detach(updatedAdvisor);
+        updatedAdvisor.telephone(UPDATED_TELEPHONE);
+        AdvisorDTO advisorDTO = advisorMapper.toDto(updatedAdvisor);
+
+        restAdvisorMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, advisorDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(advisorDTO))
+            )
+            .andExpect(status().isOk());
+
+        restAdvisorMockMvc
+            .perform(get(ENTITY_API_URL + "/user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(advisor.getId().intValue()))
+            .andExpect(jsonPath("$.telephone").value(UPDATED_TELEPHONE));
+    }
+
     @Test
     @Transactional
     void getNonExistingAdvisor() throws Exception {
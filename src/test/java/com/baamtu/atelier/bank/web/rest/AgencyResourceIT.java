@@ -2,14 +2,19 @@ package com.baamtu.atelier.bank.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Advisor;
 import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
 import com.baamtu.atelier.bank.repository.AgencyRepository;
 import com.baamtu.atelier.bank.service.dto.AgencyDTO;
 import com.baamtu.atelier.bank.service.mapper.AgencyMapper;
+import java.time.Instant;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -18,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -201,6 +207,46 @@ class AgencyResourceIT {
             .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)));
     }
 
+    @Test
+    @Transactional
+    void getAllAgenciesNotModified() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+
+        String eTag = restAgencyMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAgencyMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getAllAgenciesModified() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+
+        String eTag = restAgencyMockMvc.perform(get(ENTITY_API_URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Agency updatedAgency = agencyRepository.findById(agency.getId()).get();
+        updatedAgency.name(UPDATED_NAME);
+        agencyRepository.saveAndFlush(updatedAgency);
+
+        restAgencyMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(UPDATED_NAME)));
+    }
+
     @Test
     @Transactional
     void getAgency() throws Exception {
@@ -219,6 +265,25 @@ class AgencyResourceIT {
             .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL));
     }
 
+    @Test
+    @Transactional
+    void getAgencyNotModifiedSince() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+
+        String lastModified = restAgencyMockMvc
+            .perform(get(ENTITY_API_URL_ID, agency.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        restAgencyMockMvc
+            .perform(get(ENTITY_API_URL_ID, agency.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     @Transactional
     void getNonExistingAgency() throws Exception {
@@ -472,4 +537,106 @@ class AgencyResourceIT {
         List<Agency> agencyList = agencyRepository.findAll();
         assertThat(agencyList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void getAgencyAvailability() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+        Advisor advisor = AdvisorResourceIT.createEntity(em).agency(agency);
+        em.persist(advisor);
+        Appointment appointment = AppointmentResourceIT
+            .createEntity(em)
+            .advisor(advisor)
+            .status(Status.APPROVED)
+            .startDate(Instant.parse("2026-01-05T10:00:00Z"))
+            .endDate(Instant.parse("2026-01-05T11:00:00Z"));
+        em.persist(appointment);
+        Appointment cancelled = AppointmentResourceIT
+            .createEntity(em)
+            .advisor(advisor)
+            .status(Status.CANCELLED)
+            .startDate(Instant.parse("2026-01-05T11:00:00Z"))
+            .endDate(Instant.parse("2026-01-05T11:45:00Z"));
+        em.persist(cancelled);
+        em.flush();
+
+        // Get the free slots of at least 30 minutes between 09:00 and 12:00
+        restAgencyMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/availability", agency.getId())
+                    .param("from", "2026-01-05T09:00:00Z")
+                    .param("to", "2026-01-05T12:00:00Z")
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].advisorId").value(advisor.getId().intValue()))
+            .andExpect(jsonPath("$.[0].freeSlots.length()").value(2))
+            .andExpect(jsonPath("$.[0].freeSlots.[0].start").value("2026-01-05T09:00:00Z"))
+            .andExpect(jsonPath("$.[0].freeSlots.[0].end").value("2026-01-05T10:00:00Z"))
+            .andExpect(jsonPath("$.[0].freeSlots.[1].start").value("2026-01-05T11:00:00Z"))
+            .andExpect(jsonPath("$.[0].freeSlots.[1].end").value("2026-01-05T12:00:00Z"));
+    }
+
+    @Test
+    @Transactional
+    void getAgencyAvailabilityAfterAnAdvisorMoved() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+        Agency otherAgency = createEntity(em);
+        agencyRepository.saveAndFlush(otherAgency);
+        Advisor advisor = AdvisorResourceIT.createEntity(em).agency(agency);
+        em.persist(advisor);
+        em.persist(
+            AppointmentResourceIT
+                .createEntity(em)
+                .advisor(advisor)
+                .status(Status.APPROVED)
+                .startDate(Instant.parse("2026-01-05T10:00:00Z"))
+                .endDate(Instant.parse("2026-01-05T11:00:00Z"))
+        );
+        em.flush();
+
+        // Cache the day of the other agency, without advisor yet
+        restAgencyMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/availability", otherAgency.getId())
+                    .param("from", "2026-01-05T09:00:00Z")
+                    .param("to", "2026-01-05T12:00:00Z")
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+
+        advisor.setAgency(otherAgency);
+        em.flush();
+
+        restAgencyMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/availability", otherAgency.getId())
+                    .param("from", "2026-01-05T09:00:00Z")
+                    .param("to", "2026-01-05T12:00:00Z")
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].advisorId").value(advisor.getId().intValue()))
+            .andExpect(jsonPath("$.[0].freeSlots.length()").value(2));
+    }
+
+    @Test
+    @Transactional
+    void getAgencyAvailabilityWithInvalidRange() throws Exception {
+        // Initialize the database
+        agencyRepository.saveAndFlush(agency);
+
+        restAgencyMockMvc
+            .perform(
+                get(ENTITY_API_URL_ID + "/availability", agency.getId())
+                    .param("from", "2026-01-05T12:00:00Z")
+                    .param("to", "2026-01-05T09:00:00Z")
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -1,7 +1,9 @@
 package com.baamtu.atelier.bank.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -11,8 +13,12 @@ import com.baamtu.atelier.bank.domain.Appointment;
 import com.baamtu.atelier.bank.domain.Manager;
 import com.baamtu.atelier.bank.domain.enumeration.Status;
 import com.baamtu.atelier.bank.repository.AppointmentRepository;
+import com.baamtu.atelier.bank.service.AppointmentBookingService;
+import com.baamtu.atelier.bank.service.dto.AppointmentCursor;
 import com.baamtu.atelier.bank.service.dto.AppointmentDTO;
+import com.baamtu.atelier.bank.service.dto.StatusTransitionDTO;
 import com.baamtu.atelier.bank.service.mapper.AppointmentMapper;
+import com.baamtu.atelier.bank.web.rest.errors.ErrorConstants;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -21,13 +27,17 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -197,6 +207,180 @@ class AppointmentResourceIT {
         assertThat(testAppointment.getCommentary()).isEqualTo(DEFAULT_COMMENTARY);
     }
 
+    @Test
+    @Transactional
+    void getAppointmentsByManagerInConstantStatements() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        Long managerId = appointment.getManager().getId();
+
+        long statementsForOne = countStatements(get(ENTITY_API_URL + "/manager/{id}", managerId), 1);
+
+        // Each new appointment has its own advisor and user, which used to be loaded one by one
+        for (int i = 0; i < 3; i++) {
+            Advisor advisor = AdvisorResourceIT.createEntity(em);
+            em.persist(advisor);
+            em.persist(createEntity(em).advisor(advisor));
+        }
+        em.flush();
+
+        long statementsForFour = countStatements(get(ENTITY_API_URL + "/manager/{id}", managerId), 4);
+        assertThat(statementsForFour).isEqualTo(statementsForOne);
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request, int expectedSize) throws Exception {
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restAppointmentMockMvc.perform(request).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(expectedSize));
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    void exportAppointmentsWithInvalidFilters() throws Exception {
+        restAppointmentMockMvc.perform(get(ENTITY_API_URL + "/export").param("format", "xml")).andExpect(status().isBadRequest());
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/export").param("advisorId", "1").param("managerId", "1"))
+            .andExpect(status().isBadRequest());
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/export").param("from", DEFAULT_START_DATE.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void importAppointments() throws Exception {
+        int databaseSizeBeforeImport = appointmentRepository.findAll().size();
+        AppointmentDTO first = appointmentMapper.toDto(appointment);
+        AppointmentDTO second = appointmentMapper.toDto(createUpdatedEntity(em));
+        AppointmentDTO withoutAdvisor = appointmentMapper.toDto(createEntity(em));
+        withoutAdvisor.setAdvisor(null);
+
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/import")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(first, withoutAdvisor, second)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.received").value(3))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors.[0].row").value(1))
+            .andExpect(jsonPath("$.errors.[0].message").value("advisor is required"));
+
+        assertThat(appointmentRepository.findAll()).hasSize(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    @Transactional
+    void importMalformedAppointments() throws Exception {
+        restAppointmentMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"not an array\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(0))
+            .andExpect(jsonPath("$.errors.[0].row").value(0));
+    }
+
+    @Test
+    @Transactional
+    void transitionAppointmentStatus() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment.status(null));
+        Appointment cancelled = createUpdatedEntity(em).status(Status.CANCELLED);
+        appointmentRepository.saveAndFlush(cancelled);
+
+        StatusTransitionDTO statusTransitionDTO = new StatusTransitionDTO();
+        statusTransitionDTO.setIds(List.of(appointment.getId(), cancelled.getId(), Long.MAX_VALUE));
+        statusTransitionDTO.setStatus(Status.APPROVED);
+
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(statusTransitionDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(hasItem(appointment.getId().intValue())))
+            .andExpect(jsonPath("$.updated.length()").value(1))
+            .andExpect(jsonPath("$.rejected.[*].id").value(hasItem(cancelled.getId().intValue())))
+            .andExpect(jsonPath("$.rejected.[*].id").value(hasItem(Long.MAX_VALUE)))
+            .andExpect(jsonPath("$.rejected.length()").value(2));
+
+        assertThat(appointmentRepository.findById(appointment.getId()).get().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(appointmentRepository.findById(cancelled.getId()).get().getStatus()).isEqualTo(Status.CANCELLED);
+    }
+
+    @Test
+    @Transactional
+    void transitionAppointmentStatusWithoutIds() throws Exception {
+        StatusTransitionDTO statusTransitionDTO = new StatusTransitionDTO();
+        statusTransitionDTO.setStatus(Status.APPROVED);
+
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/status")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(statusTransitionDTO))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void createOverlappingAppointment() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment.endDate(DEFAULT_START_DATE.plus(1, ChronoUnit.HOURS)));
+        int databaseSizeBeforeCreate = appointmentRepository.findAll().size();
+
+        // An appointment of the same advisor and manager starting before the end of the first one
+        Appointment overlapping = createEntity(em)
+            .startDate(DEFAULT_START_DATE.plus(30, ChronoUnit.MINUTES))
+            .endDate(DEFAULT_START_DATE.plus(90, ChronoUnit.MINUTES))
+            .advisor(appointment.getAdvisor())
+            .manager(appointment.getManager());
+        AppointmentDTO appointmentDTO = appointmentMapper.toDto(overlapping);
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(appointmentDTO))
+            )
+            .andExpect(status().isConflict());
+        assertThat(appointmentRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+
+        // A cancelled appointment does not hold its time slot
+        appointmentDTO.setStatus(Status.CANCELLED);
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(appointmentDTO))
+            )
+            .andExpect(status().isCreated());
+        assertThat(appointmentRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    void createTooLongAppointment() throws Exception {
+        int databaseSizeBeforeCreate = appointmentRepository.findAll().size();
+        appointment.endDate(DEFAULT_START_DATE.plus(Appointment.MAX_LENGTH).plus(1, ChronoUnit.MINUTES));
+        AppointmentDTO appointmentDTO = appointmentMapper.toDto(appointment);
+
+        restAppointmentMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(appointmentDTO))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_APPOINTMENT_TOO_LONG));
+        assertThat(appointmentRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createAppointmentWithExistingId() throws Exception {
@@ -341,6 +525,37 @@ class AppointmentResourceIT {
             .andExpect(jsonPath("$.[*].commentary").value(hasItem(DEFAULT_COMMENTARY)));
     }
 
+    @Test
+    @Transactional
+    void getAllAppointmentsWithCursor() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        Appointment other = createEntity(em).startDate(DEFAULT_START_DATE.plus(1, ChronoUnit.HOURS));
+        appointmentRepository.saveAndFlush(other);
+
+        // The first slice only holds the earliest appointment and links to the next one
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1));
+
+        String cursor = new AppointmentCursor(DEFAULT_START_DATE, appointment.getId()).encode();
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + cursor + "&size=20"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(other.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(appointment.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllAppointmentsWithInvalidCursor() throws Exception {
+        restAppointmentMockMvc.perform(get(ENTITY_API_URL + "?after=invalid")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAppointment() throws Exception {
@@ -364,6 +579,46 @@ class AppointmentResourceIT {
             .andExpect(jsonPath("$.commentary").value(DEFAULT_COMMENTARY));
     }
 
+    @Test
+    @Transactional
+    void getAppointmentNotModified() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+
+        String eTag = restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL_ID, appointment.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        // Only the validator is read
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restAppointmentMockMvc
+                .perform(get(ENTITY_API_URL_ID, appointment.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        Appointment updatedAppointment = appointmentRepository.findById(appointment.getId()).get();
+        em.detach(updatedAppointment);
+        updatedAppointment.title(UPDATED_TITLE);
+        appointmentRepository.saveAndFlush(updatedAppointment);
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL_ID, appointment.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value(UPDATED_TITLE));
+    }
+
     @Test
     @Transactional
     void getNonExistingAppointment() throws Exception {
@@ -371,6 +626,195 @@ class AppointmentResourceIT {
         restAppointmentMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getAppointmentsByAdvisorInRange() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        Long advisorId = appointment.getAdvisor().getId();
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}", advisorId)
+                    .param("from", DEFAULT_START_DATE.minus(1, ChronoUnit.HOURS).toString())
+                    .param("to", DEFAULT_START_DATE.plus(1, ChronoUnit.HOURS).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())))
+            .andExpect(jsonPath("$.[*].title").value(hasItem(DEFAULT_TITLE)))
+            .andExpect(jsonPath("$.[*].advisorLogin").value(hasItem(appointment.getAdvisor().getUser().getLogin())))
+            .andExpect(jsonPath("$.[*].managerLogin").value(hasItem(appointment.getManager().getUser().getLogin())));
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}", advisorId)
+                    .param("from", DEFAULT_START_DATE.plus(1, ChronoUnit.HOURS).toString())
+                    .param("to", DEFAULT_START_DATE.plus(2, ChronoUnit.HOURS).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(appointment.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsByManagerInRange() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        Long managerId = appointment.getManager().getId();
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/manager/{id}", managerId)
+                    .param("from", DEFAULT_START_DATE.toString())
+                    .param("to", DEFAULT_START_DATE.plus(1, ChronoUnit.DAYS).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsInRangeStartingBeforeIt() throws Exception {
+        // Initialize the database: an appointment from 11:00 to 13:00
+        Instant start = DEFAULT_START_DATE.plus(11, ChronoUnit.HOURS);
+        appointmentRepository.saveAndFlush(appointment.startDate(start).endDate(start.plus(2, ChronoUnit.HOURS)));
+
+        // A window starting at noon still shows the appointment in progress
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}", appointment.getAdvisor().getId())
+                    .param("from", start.plus(1, ChronoUnit.HOURS).toString())
+                    .param("to", start.plus(3, ChronoUnit.HOURS).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(appointment.getId().intValue())));
+
+        // A window starting at its end does not
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/manager/{id}", appointment.getManager().getId())
+                    .param("from", start.plus(2, ChronoUnit.HOURS).toString())
+                    .param("to", start.plus(3, ChronoUnit.HOURS).toString())
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(appointment.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsByManagerNotModified() throws Exception {
+        // Initialize the database
+        appointmentRepository.saveAndFlush(appointment);
+        Long managerId = appointment.getManager().getId();
+
+        String eTag = restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/manager/{id}", managerId))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/manager/{id}", managerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Removing an appointment changes the validator of the list
+        appointmentRepository.delete(appointment);
+        appointmentRepository.flush();
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/manager/{id}", managerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentsWithInvalidRange() throws Exception {
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}", 1L)
+                    .param("from", DEFAULT_START_DATE.plus(1, ChronoUnit.HOURS).toString())
+                    .param("to", DEFAULT_START_DATE.toString())
+            )
+            .andExpect(status().isBadRequest());
+
+        restAppointmentMockMvc
+            .perform(get(ENTITY_API_URL + "/manager/{id}", 1L).param("from", DEFAULT_START_DATE.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getNextFreeSlotOfAdvisor() throws Exception {
+        // Initialize the database: an advisor of its own, booked from 09:00 to 11:00, with a cancelled appointment after
+        Advisor advisor = AdvisorResourceIT.createEntity(em);
+        em.persist(advisor);
+        Instant nine = Instant.parse("2100-01-04T09:00:00Z");
+        em.persist(createEntity(em).advisor(advisor).startDate(nine).endDate(nine.plus(1, ChronoUnit.HOURS)));
+        em.persist(createEntity(em).advisor(advisor).startDate(nine.plus(1, ChronoUnit.HOURS)).endDate(nine.plus(2, ChronoUnit.HOURS)));
+        em.persist(
+            createEntity(em)
+                .advisor(advisor)
+                .status(Status.CANCELLED)
+                .startDate(nine.plus(2, ChronoUnit.HOURS))
+                .endDate(nine.plus(3, ChronoUnit.HOURS))
+        );
+        em.flush();
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}/next-free-slot", advisor.getId())
+                    .param("from", nine.plus(30, ChronoUnit.MINUTES).toString())
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.start").value(nine.plus(2, ChronoUnit.HOURS).toString()))
+            .andExpect(jsonPath("$.end").value(nine.plus(150, ChronoUnit.MINUTES).toString()));
+    }
+
+    @Test
+    @Transactional
+    void getNextFreeSlotOfFullyBookedAdvisor() throws Exception {
+        // Initialize the database: an advisor booked every day until the search horizon
+        Advisor advisor = AdvisorResourceIT.createEntity(em);
+        em.persist(advisor);
+        Instant from = Instant.parse("2100-01-04T00:00:00Z");
+        for (int day = 0; day < AppointmentBookingService.MAX_SEARCH_HORIZON.toDays(); day++) {
+            Instant start = from.plus(day, ChronoUnit.DAYS);
+            em.persist(createEntity(em).advisor(advisor).startDate(start).endDate(start.plus(1, ChronoUnit.DAYS)));
+        }
+        em.flush();
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}/next-free-slot", advisor.getId())
+                    .param("from", from.toString())
+                    .param("duration", "PT30M")
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getNextFreeSlotWithInvalidDuration() throws Exception {
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}/next-free-slot", 1L)
+                    .param("from", DEFAULT_START_DATE.toString())
+                    .param("duration", AppointmentBookingService.MAX_SEARCH_HORIZON.plusDays(1).toString())
+            )
+            .andExpect(status().isBadRequest());
+
+        restAppointmentMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/advisor/{id}/next-free-slot", 1L)
+                    .param("from", DEFAULT_START_DATE.toString())
+                    .param("duration", "PT0S")
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putNewAppointment() throws Exception {
@@ -0,0 +1,97 @@
+package com.baamtu.atelier.bank.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.baamtu.atelier.bank.IntegrationTest;
+import com.baamtu.atelier.bank.domain.Advisor;
+import com.baamtu.atelier.bank.domain.Agency;
+import com.baamtu.atelier.bank.domain.Appointment;
+import com.baamtu.atelier.bank.domain.enumeration.Status;
+import com.baamtu.atelier.bank.service.AppointmentStatsService;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link AppointmentStatsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AppointmentStatsResourceIT {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+
+    private static final String API_URL = "/api/stats/appointments";
+
+    @Autowired
+    private AppointmentStatsService appointmentStatsService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAppointmentStatsMockMvc;
+
+    private Advisor advisor;
+
+    private Agency agency;
+
+    @BeforeEach
+    public void initTest() {
+        agency = AgencyResourceIT.createEntity(em);
+        em.persist(agency);
+        advisor = AdvisorResourceIT.createEntity(em).agency(agency);
+        em.persist(advisor);
+        em.persist(AppointmentResourceIT.createEntity(em).advisor(advisor).appointementDate(DAY).status(Status.APPROVED));
+        em.persist(AppointmentResourceIT.createEntity(em).advisor(advisor).appointementDate(DAY).status(Status.APPROVED));
+        em.persist(AppointmentResourceIT.createEntity(em).advisor(advisor).appointementDate(DAY).status(null));
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentStatsByAdvisor() throws Exception {
+        appointmentStatsService.reconcile();
+
+        restAppointmentStatsMockMvc
+            .perform(get(API_URL).param("from", DAY.toString()).param("to", DAY.toString()).param("agencyId", agency.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].advisorId").value(advisor.getId().intValue()))
+            .andExpect(jsonPath("$.[0].status").value("APPROVED"))
+            .andExpect(jsonPath("$.[0].count").value(2))
+            .andExpect(jsonPath("$.[1].status").value("PENDING"))
+            .andExpect(jsonPath("$.[1].count").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentStatsByAgency() throws Exception {
+        appointmentStatsService.reconcile();
+
+        restAppointmentStatsMockMvc
+            .perform(get(API_URL).param("from", DAY.toString()).param("to", DAY.plusDays(1).toString()).param("groupBy", "agency"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].agencyId").value(hasItem(agency.getId().intValue())))
+            .andExpect(jsonPath("$.[*].count").value(hasItem(2)));
+    }
+
+    @Test
+    @Transactional
+    void getAppointmentStatsWithInvalidRange() throws Exception {
+        restAppointmentStatsMockMvc
+            .perform(get(API_URL).param("from", DAY.toString()).param("to", DAY.minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -10,9 +10,11 @@ import com.baamtu.atelier.bank.domain.Manager;
 import com.baamtu.atelier.bank.domain.User;
 import com.baamtu.atelier.bank.domain.enumeration.Gender;
 import com.baamtu.atelier.bank.repository.ManagerRepository;
+import com.baamtu.atelier.bank.service.ProfileCache;
 import com.baamtu.atelier.bank.service.dto.ManagerDTO;
 import com.baamtu.atelier.bank.service.mapper.ManagerMapper;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -54,6 +57,9 @@ class ManagerResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restManagerMockMvc;
 
@@ -93,6 +99,7 @@ class ManagerResourceIT {
 
     @BeforeEach
     public void initTest() {
+        Objects.requireNonNull(cacheManager.getCache(ProfileCache.MANAGERS_BY_LOGIN_CACHE)).clear();
         manager = createEntity(em);
     }
 
@@ -183,6 +190,42 @@ class ManagerResourceIT {
             .andExpect(jsonPath("$.telephone").value(DEFAULT_TELEPHONE));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("current-manager")
+    void getCurrentUserManager() throws Exception {
+        // Initialize the database
+        manager.getUser().setLogin("current-manager");
+        managerRepository.saveAndFlush(manager);
+
+        restManagerMockMvc
+            .perform(get(ENTITY_API_URL + "/user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(manager.getId().intValue()))
+            .andExpect(jsonPath("$.login").value("current-manager"))
+            .andExpect(jsonPath("$.telephone").value(DEFAULT_TELEPHONE));
+
+        // Update the manager, the cached profile must not be served anymore
+        Manager updatedManager = managerRepository.findById(manager.getId()).get();
+        em.detach(updatedManager);
+        updatedManager.telephone(UPDATED_TELEPHONE);
+        ManagerDTO managerDTO = managerMapper.toDto(updatedManager);
+
+        restManagerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, managerDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(managerDTO))
+            )
+            .andExpect(status().isOk());
+
+        restManagerMockMvc
+            .perform(get(ENTITY_API_URL + "/user"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(manager.getId().intValue()))
+            .andExpect(jsonPath("$.telephone").value(UPDATED_TELEPHONE));
+    }
+
     @Test
     @Transactional
     void getNonExistingManager() throws Exception {